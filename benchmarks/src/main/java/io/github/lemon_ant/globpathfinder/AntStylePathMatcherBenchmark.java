@@ -0,0 +1,74 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link AntStylePathMatcher#matches(Path)} of one pattern over a fixed set of relative paths shaped like the
+ * generated trees, matching and non-matching.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AntStylePathMatcherBenchmark {
+
+    private static final int PATH_COUNT = 256;
+    private static final int MAX_PATH_DEPTH = 8;
+
+    @Param({"**/*.java", "src/main/**/*.java", "**/node_modules/**", "*/*/File?.md", "**/*a*v*a*"})
+    public String pattern;
+
+    private PathMatcher matcher;
+    private Path[] paths;
+
+    @Setup
+    public void compilePattern() {
+        matcher = AntStylePathMatcher.compile(pattern);
+        paths = new Path[PATH_COUNT];
+        for (int index = 0; index < PATH_COUNT; index++) {
+            StringBuilder path = new StringBuilder();
+            for (int depth = 0; depth <= index % MAX_PATH_DEPTH; depth++) {
+                path.append(FileTreeGenerator.composeDirectoryName(index / MAX_PATH_DEPTH + depth))
+                        .append('/');
+            }
+            String extension = FileTreeGenerator.FILE_EXTENSIONS[index % FileTreeGenerator.FILE_EXTENSIONS.length];
+            paths[index] = Path.of(path.append("File").append(index).append('.').append(extension).toString());
+        }
+    }
+
+    /**
+     * Matches every path once, so the score is the time of 256 matches.
+     *
+     * @return the number of matched paths
+     */
+    @Benchmark
+    public int matches() {
+        int matched = 0;
+        for (Path path : paths) {
+            if (matcher.matches(path)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+}
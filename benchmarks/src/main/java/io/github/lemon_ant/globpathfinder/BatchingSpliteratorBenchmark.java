@@ -0,0 +1,80 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+import lombok.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link BatchingSpliterator} over a source of unknown size, as {@link GlobPathFinder} feeds it: the overhead of
+ * batching in a sequential stream, and how well a parallel stream spreads a cheap per-element computation. A
+ * {@code maxBatchSize} above {@code batchSize} lets the batches grow; otherwise they keep {@code batchSize}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchingSpliteratorBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int elementCount;
+
+    @Param({"16", "1024"})
+    public int batchSize;
+
+    @Param({"16", "4096"})
+    public int maxBatchSize;
+
+    private List<String> elements;
+
+    @Setup
+    public void createElements() {
+        elements = new ArrayList<>(elementCount);
+        for (int index = 0; index < elementCount; index++) {
+            elements.add("src/main/java/File" + index + ".java");
+        }
+    }
+
+    @Benchmark
+    public long sequentialSum() {
+        return StreamSupport.stream(createSpliterator(), false)
+                .mapToLong(String::hashCode)
+                .sum();
+    }
+
+    @Benchmark
+    public long parallelSum() {
+        return StreamSupport.stream(createSpliterator(), true)
+                .mapToLong(String::hashCode)
+                .sum();
+    }
+
+    @NonNull
+    private Spliterator<String> createSpliterator() {
+        return new BatchingSpliterator<>(
+                Spliterators.spliteratorUnknownSize(elements.iterator(), Spliterator.ORDERED),
+                batchSize,
+                Math.max(batchSize, maxBatchSize));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Builds reproducible file trees for the benchmarks.
+ *
+ * <p>The same {@link TreeShape} always yields the same tree: directory names cycle through names typical of source
+ * trees ({@code src}, {@code main}, {@code node_modules}, {@code target}, ...), numbered once the cycle repeats, and
+ * file extensions are drawn from a fixed-seed random sequence, so include and exclude globs hit the same entries in
+ * every run.</p>
+ */
+@UtilityClass
+class FileTreeGenerator {
+
+    static final String[] DIRECTORY_NAMES = {"src", "main", "java", "module", "target", "node_modules", "docs", "test"};
+    static final String[] FILE_EXTENSIONS = {"java", "kt", "xml", "md", "txt", "json"};
+
+    private static final long SEED = 20_260_421L;
+
+    /**
+     * Builds a tree of the given shape in a new temporary directory.
+     *
+     * @param shape the shape of the tree
+     * @return the root of the tree; remove it with {@link #deleteTree(Path)}
+     * @throws IOException if the tree cannot be created
+     */
+    @NonNull
+    static Path createTree(@NonNull TreeShape shape) throws IOException {
+        Path root = Files.createTempDirectory("glob-path-finder-" + shape.name().toLowerCase(Locale.ROOT) + "-");
+        createDirectory(root, shape, 0, new Random(SEED));
+        return root;
+    }
+
+    /**
+     * Deletes a tree built by {@link #createTree(TreeShape)}.
+     *
+     * @param root the root of the tree
+     * @throws IOException if an entry cannot be deleted
+     */
+    static void deleteTree(@NonNull Path root) throws IOException {
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(root)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Composes the name of the {@code index}-th subdirectory of every directory.
+     *
+     * @param index the position of the subdirectory in its parent
+     * @return the directory name
+     */
+    @NonNull
+    static String composeDirectoryName(int index) {
+        String name = DIRECTORY_NAMES[index % DIRECTORY_NAMES.length];
+        int round = index / DIRECTORY_NAMES.length;
+        return round == 0 ? name : name + round;
+    }
+
+    private static void createDirectory(Path directory, TreeShape shape, int depth, Random random)
+            throws IOException {
+        Files.createDirectories(directory);
+        for (int file = 0; file < shape.getFilesPerDirectory(); file++) {
+            String extension = FILE_EXTENSIONS[random.nextInt(FILE_EXTENSIONS.length)];
+            Files.createFile(directory.resolve("File" + file + "." + extension));
+        }
+        if (depth < shape.getDepth()) {
+            for (int child = 0; child < shape.getFanOut(); child++) {
+                createDirectory(directory.resolve(composeDirectoryName(child)), shape, depth + 1, random);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * End-to-end {@link GlobPathFinder#findPaths(PathQuery)}: walking, matching and streaming every result of a
+ * generated tree. After the first iteration the tree is in the OS page cache, so this measures the library rather
+ * than the disk. {@link #findPathsParallelStream} consumes the same query through a parallel stream, which splits
+ * the results into batches for the common pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FindPathsBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE", "DEEP", "WIDE"})
+    public TreeShape shape;
+
+    @Param({"ALL_FILES", "JAVA_SOURCES", "EXTENSIONS", "NESTED_BASES", "MANY_GLOBS"})
+    public GlobScenario scenario;
+
+    @Param({"SEQUENTIAL", "PARALLEL"})
+    public TraversalMode traversalMode;
+
+    private Path root;
+    private PathQuery query;
+
+    @Setup(Level.Trial)
+    public void createTree() throws IOException {
+        root = FileTreeGenerator.createTree(shape);
+        query = scenario.buildQuery(root, traversalMode);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteTree() throws IOException {
+        FileTreeGenerator.deleteTree(root);
+    }
+
+    @Benchmark
+    public void findPaths(Blackhole blackhole) {
+        try (Stream<Path> paths = GlobPathFinder.findPaths(query)) {
+            paths.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public int findPathsParallelStream() {
+        try (Stream<Path> paths = GlobPathFinder.findPaths(query)) {
+            return paths.parallel().mapToInt(Path::hashCode).reduce(0, Integer::sum);
+        }
+    }
+}
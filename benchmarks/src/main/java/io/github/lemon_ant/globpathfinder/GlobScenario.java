@@ -0,0 +1,91 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Query filters benchmarked against the trees of {@link FileTreeGenerator}.
+ */
+@RequiredArgsConstructor
+public enum GlobScenario {
+
+    /**
+     * No filters: every regular file of the tree.
+     */
+    ALL_FILES(List.of(), List.of(), List.of()),
+
+    /**
+     * Java sources below any {@code src} directory, without build output and dependencies.
+     */
+    JAVA_SOURCES(List.of("**/src/**/*.java"), List.of("**/target/**", "**/node_modules/**"), List.of()),
+
+    /**
+     * Extension filter only.
+     */
+    EXTENSIONS(List.of(), List.of(), List.of("java", "kt")),
+
+    /**
+     * Include bases nested in one another ({@code src/main} below {@code src}) next to a disjoint one.
+     */
+    NESTED_BASES(List.of("src/**/*.java", "src/main/**/*.kt", "docs/**"), List.of("**/target/**"), List.of()),
+
+    /**
+     * One include per generated directory name and extension, plus a few excludes.
+     */
+    MANY_GLOBS(
+            composeDirectoryExtensionGlobs(),
+            List.of("**/target/**", "**/node_modules/**", "**/test/**/*.json", "**/docs/*.txt"),
+            List.of());
+
+    private final List<String> includeGlobs;
+    private final List<String> excludeGlobs;
+    private final List<String> allowedExtensions;
+
+    /**
+     * Builds the query of this scenario.
+     *
+     * @param baseDir       the root of the benchmarked tree
+     * @param traversalMode how directories are read
+     * @return the query
+     */
+    @NonNull
+    PathQuery buildQuery(@NonNull Path baseDir, @NonNull TraversalMode traversalMode) {
+        return PathQuery.builder()
+                .baseDir(baseDir)
+                .includeGlobs(includeGlobs)
+                .excludeGlobs(excludeGlobs)
+                .allowedExtensions(allowedExtensions)
+                .traversalMode(traversalMode)
+                .build();
+    }
+
+    /**
+     * Returns the include globs of this scenario.
+     *
+     * @return the include globs
+     */
+    @NonNull
+    Set<String> collectIncludeGlobs() {
+        return Set.copyOf(includeGlobs);
+    }
+
+    @NonNull
+    private static List<String> composeDirectoryExtensionGlobs() {
+        List<String> globs = new ArrayList<>();
+        for (String directoryName : FileTreeGenerator.DIRECTORY_NAMES) {
+            for (String extension : FileTreeGenerator.FILE_EXTENSIONS) {
+                globs.add("**/" + directoryName + "/*." + extension);
+            }
+        }
+        return globs;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link FileMatchingUtils#computeBaseToIncludeMatchers(Path, Set)}: base extraction and pattern compilation, the
+ * fixed cost every query pays before the first directory is read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncludeMatchersBenchmark {
+
+    @Param({"JAVA_SOURCES", "NESTED_BASES", "MANY_GLOBS"})
+    public GlobScenario scenario;
+
+    private Path baseDir;
+    private Set<String> includeGlobs;
+
+    @Setup
+    public void collectGlobs() {
+        baseDir = Path.of("").toAbsolutePath();
+        includeGlobs = scenario.collectIncludeGlobs();
+    }
+
+    @Benchmark
+    public Map<Path, Set<PathMatcher>> computeBaseToIncludeMatchers() {
+        return FileMatchingUtils.computeBaseToIncludeMatchers(baseDir, includeGlobs);
+    }
+}
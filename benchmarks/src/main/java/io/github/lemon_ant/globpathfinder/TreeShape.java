@@ -0,0 +1,47 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Shapes of the file trees built by {@link FileTreeGenerator}: every directory down to {@link #getDepth()} has
+ * {@link #getFanOut()} subdirectories, and every directory holds {@link #getFilesPerDirectory()} files.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TreeShape {
+
+    /**
+     * 40 directories, 200 files.
+     */
+    SMALL(3, 3, 5),
+
+    /**
+     * 781 directories, 7,810 files.
+     */
+    MEDIUM(5, 4, 10),
+
+    /**
+     * 9,331 directories, 111,972 files.
+     */
+    LARGE(6, 5, 12),
+
+    /**
+     * 8,191 directories nested twelve levels deep, 24,573 files.
+     */
+    DEEP(2, 12, 3),
+
+    /**
+     * 3,661 directories with sixty subdirectories each, 18,305 files.
+     */
+    WIDE(60, 2, 5);
+
+    private final int fanOut;
+    private final int depth;
+    private final int filesPerDirectory;
+}
@@ -29,6 +29,15 @@ import lombok.NonNull;
  * {@code **}{@code /*.java} matches both {@code Foo.java} (zero directories) and
  * {@code sub/Foo.java} (one directory), whereas the JDK matcher requires at least one
  * directory between {@code **} and the filename segment.</p>
+ *
+ * <p>The pattern is split into segments once, at compile time. Matching runs the segments as an NFA directly over
+ * the string form of the path, treating both {@code /} and {@code \} as separators, so a call allocates neither
+ * a normalized copy nor a segment array. For patterns of fewer than 64 segments the live NFA states are kept in a
+ * {@code long} bit set and matching allocates nothing at all.</p>
+ *
+ * <p>Matching time is polynomial for every pattern: the NFA touches each (pattern segment, path segment) pair at most
+ * once, and a single segment is matched in {@code O(patternLength * segmentLength)}, so neither {@code **} runs nor
+ * {@code *} runs can cause exponential backtracking.</p>
  */
 final class AntStylePathMatcher implements PathMatcher {
 
@@ -36,11 +45,48 @@ final class AntStylePathMatcher implements PathMatcher {
     private static final char WILDCARD_ANY = '*';
     private static final char WILDCARD_ONE = '?';
 
+    /**
+     * Patterns with more segments than this keep their NFA states in a {@code boolean[]} instead of a {@code long}.
+     */
+    private static final int MAX_BIT_SET_SEGMENTS = Long.SIZE - 1;
+
+    /**
+     * Bit set of the {@code **} segments; only used when the pattern fits {@link #MAX_BIT_SET_SEGMENTS}.
+     */
+    private final long doubleStarStates;
+
+    /**
+     * Whether each segment is free of wildcards and can be compared with {@link String#regionMatches}.
+     */
+    @NonNull
+    private final boolean[] literalParts;
+
     @NonNull
     private final String[] patternParts;
 
+    /**
+     * Index of the first segment of the trailing run of {@code **} segments, or {@code patternParts.length}
+     * when the pattern does not end with {@code **}.
+     */
+    private final int trailingDoubleStarStart;
+
     private AntStylePathMatcher(String pattern) {
         this.patternParts = splitSegments(normalizeToUnixSeparators(pattern));
+        this.literalParts = new boolean[patternParts.length];
+        long doubleStars = 0;
+        for (int state = 0; state < patternParts.length; state++) {
+            String part = patternParts[state];
+            literalParts[state] = part.indexOf(WILDCARD_ANY) < 0 && part.indexOf(WILDCARD_ONE) < 0;
+            if (DOUBLE_STAR.equals(part) && state < MAX_BIT_SET_SEGMENTS) {
+                doubleStars |= 1L << state;
+            }
+        }
+        this.doubleStarStates = doubleStars;
+        int trailingStart = patternParts.length;
+        while (trailingStart > 0 && DOUBLE_STAR.equals(patternParts[trailingStart - 1])) {
+            trailingStart--;
+        }
+        this.trailingDoubleStarStart = trailingStart;
     }
 
     /**
@@ -54,175 +100,264 @@ final class AntStylePathMatcher implements PathMatcher {
         return new AntStylePathMatcher(pattern);
     }
 
-    @Override
-    public boolean matches(@NonNull Path path) {
-        String pathString = normalizeToUnixSeparators(path.toString());
-        return matchSegments(patternParts, 0, splitSegments(pathString), 0);
+    /**
+     * Returns the number of pattern segments; the NFA has one state per segment plus the accepting state.
+     *
+     * @return the segment count
+     */
+    int getSegmentCount() {
+        return patternParts.length;
     }
 
     /**
-     * Splits a slash-delimited path or pattern string into segments, discarding empty
-     * tokens caused by a leading, trailing, or doubled {@code /}.
+     * Returns pattern segment {@code index}.
      *
-     * @param s the path or pattern string
-     * @return the non-empty segments
+     * @param index the segment index
+     * @return the segment text, e.g. {@code **}, {@code *.java} or {@code main}
      */
     @NonNull
-    private static String[] splitSegments(String s) {
-        return Arrays.stream(s.split("/", -1)).filter(part -> !part.isEmpty()).toArray(String[]::new);
+    String getSegment(int index) {
+        return patternParts[index];
     }
 
     /**
-     * Matches a pre-split pattern against a pre-split path starting at the given
-     * positions. A {@code **} segment matches zero or more consecutive path segments.
+     * Tells whether pattern segment {@code index} is {@code **}.
      *
-     * @param patParts  the pattern segments
-     * @param piStart   starting index in {@code patParts}
-     * @param pathParts the path segments
-     * @param siStart   starting index in {@code pathParts}
-     * @return {@code true} if the remaining pattern fully matches the remaining path
+     * @param index the segment index
+     * @return {@code true} for a {@code **} segment
      */
-    private static boolean matchSegments(String[] patParts, int piStart, String[] pathParts, int siStart) {
-        byte[][] memoizedResults = new byte[patParts.length + 1][pathParts.length + 1];
-        return matchSegments(patParts, piStart, pathParts, siStart, memoizedResults);
+    boolean isDoubleStarSegment(int index) {
+        return DOUBLE_STAR.equals(patternParts[index]);
     }
 
     /**
-     * Matches pattern and path segments starting at the supplied indexes.
+     * Tells whether pattern segment {@code index} contains no wildcard and only matches itself.
      *
-     * <p>This uses memoization on {@code (patternIndex, segmentIndex)} so repeated
-     * states reached through multiple {@code **} expansions are evaluated only once.
-     * That avoids the exponential backtracking behavior of the naive recursive
-     * implementation while preserving the existing Ant-style matching semantics.</p>
+     * @param index the segment index
+     * @return {@code true} for a literal segment
+     */
+    boolean isLiteralSegment(int index) {
+        return literalParts[index];
+    }
+
+    /**
+     * Returns the index of the first segment of the trailing {@code **} run, or {@link #getSegmentCount()} when the
+     * pattern does not end with {@code **}.
      *
-     * @param patParts         the pattern segments
-     * @param piStart          the starting pattern segment index
-     * @param pathParts        the path segments
-     * @param siStart          the starting path segment index
-     * @param memoizedResults  cached results indexed by pattern and path positions
-     * @return {@code true} if the remaining pattern matches the remaining path
-     */
-    private static boolean matchSegments(
-            String[] patParts, int piStart, String[] pathParts, int siStart, byte[][] memoizedResults) {
-        byte cachedResult = memoizedResults[piStart][siStart];
-        if (cachedResult != 0) {
-            return cachedResult == 2;
-        }
+     * @return the start of the trailing {@code **} run
+     */
+    int getTrailingDoubleStarStart() {
+        return trailingDoubleStarStart;
+    }
 
-        int pi = piStart;
-        int si = siStart;
-        while (pi < patParts.length) {
-            if (DOUBLE_STAR.equals(patParts[pi])) {
-                boolean result = matchFromDoubleStar(patParts, pi, pathParts, si, memoizedResults);
-                memoizedResults[piStart][siStart] = (byte) (result ? 2 : 1);
-                return result;
-            }
-            if (si >= pathParts.length || !matchSegment(patParts[pi], pathParts[si])) {
-                memoizedResults[piStart][siStart] = 1;
-                return false;
-            }
-            pi++;
-            si++;
-        }
+    @Override
+    public boolean matches(@NonNull Path path) {
+        return isStateLive(path, patternParts.length);
+    }
 
-        boolean result = si == pathParts.length;
-        memoizedResults[piStart][siStart] = (byte) (result ? 2 : 1);
-        return result;
+    /**
+     * Tells whether state {@code state} is live after consuming {@code path}.
+     */
+    private boolean isStateLive(Path path, int state) {
+        String pathString = path.toString();
+        if (patternParts.length <= MAX_BIT_SET_SEGMENTS) {
+            return (advanceStates(pathString) & (1L << state)) != 0;
+        }
+        return advanceWideStates(pathString)[state];
     }
 
     /**
-     * Handles a {@code **} segment by trying to match the remaining pattern against
-     * every possible suffix of the remaining path (zero or more segments skipped).
+     * Runs the pattern as a segment-level NFA over the segments of {@code path}. State {@code i} means "the first
+     * {@code i} pattern segments have consumed the path so far"; a {@code **} state may consume any segment and stay,
+     * or be skipped without consuming. Bit {@code i} of the result is state {@code i}.
      *
-     * @param patParts         the pattern segments
-     * @param pi               index of the {@code **} segment in {@code patParts}
-     * @param pathParts        the path segments
-     * @param si               current position in {@code pathParts}
-     * @param memoizedResults  cached results indexed by pattern and path positions
-     * @return {@code true} if any skip count leads to a full match
-     */
-    private static boolean matchFromDoubleStar(
-            String[] patParts, int pi, String[] pathParts, int si, byte[][] memoizedResults) {
-        for (int skip = 0; skip <= pathParts.length - si; skip++) {
-            if (matchSegments(patParts, pi + 1, pathParts, si + skip, memoizedResults)) {
-                return true;
+     * @param path the string form of the path whose segments are consumed
+     * @return live states after consuming all segments, as a bit set over {@code 0..patternParts.length}
+     */
+    private long advanceStates(String path) {
+        long acceptState = 1L << patternParts.length;
+        long liveStates = closeOverDoubleStars(1L);
+        int segmentStart = skipSeparators(path, 0);
+        while (liveStates != 0 && segmentStart < path.length()) {
+            int segmentEnd = findSegmentEnd(path, segmentStart);
+            long nextStates = 0;
+            for (long pending = liveStates & ~acceptState; pending != 0; pending &= pending - 1) {
+                int state = Long.numberOfTrailingZeros(pending);
+                if ((doubleStarStates & (1L << state)) != 0) {
+                    nextStates |= 1L << state;
+                } else if (matchPart(state, path, segmentStart, segmentEnd)) {
+                    nextStates |= 1L << (state + 1);
+                }
             }
+            liveStates = closeOverDoubleStars(nextStates);
+            segmentStart = skipSeparators(path, segmentEnd);
         }
-        return false;
+        return liveStates;
     }
 
     /**
-     * Matches a single pattern segment (which may contain {@code *} and {@code ?})
-     * against a single path segment using backtracking.
-     *
-     * @param pattern the segment pattern
-     * @param text    the segment text to match against
-     * @return {@code true} if the pattern matches the text
+     * Adds the states reachable by skipping {@code **} segments without consuming a path segment.
      */
-    private static boolean matchSegment(String pattern, String text) {
-        return matchChars(pattern, 0, text, 0);
+    private long closeOverDoubleStars(long states) {
+        long closedStates = states;
+        for (long pending = closedStates & doubleStarStates; pending != 0; pending = closedStates & doubleStarStates) {
+            long reachable = closedStates | (pending << 1);
+            if (reachable == closedStates) {
+                break;
+            }
+            closedStates = reachable;
+        }
+        return closedStates;
     }
 
     /**
-     * Character-level wildcard match with backtracking.
-     * {@code *} matches zero or more characters; {@code ?} matches exactly one character.
-     * Consecutive {@code *} characters are collapsed to a single wildcard.
+     * {@link #advanceStates} for patterns with more than {@link #MAX_BIT_SET_SEGMENTS} segments.
      *
-     * @param pattern  the pattern string
-     * @param piStart  starting index in {@code pattern}
-     * @param text     the text to match
-     * @param tiStart  starting index in {@code text}
-     * @return {@code true} if the remaining pattern matches the remaining text
-     */
-    private static boolean matchChars(String pattern, int piStart, String text, int tiStart) {
-        int pi = piStart;
-        int ti = tiStart;
-        while (pi < pattern.length()) {
-            char pc = pattern.charAt(pi);
-            if (pc == WILDCARD_ANY) {
-                return matchAfterStar(pattern, pi, text, ti);
-            } else if (pc == WILDCARD_ONE) {
-                if (ti >= text.length()) {
-                    return false;
+     * @param path the string form of the path whose segments are consumed
+     * @return live states after consuming all segments, indexed {@code 0..patternParts.length}
+     */
+    @NonNull
+    private boolean[] advanceWideStates(String path) {
+        boolean[] liveStates = new boolean[patternParts.length + 1];
+        liveStates[0] = true;
+        closeOverWideDoubleStars(liveStates);
+        int segmentStart = skipSeparators(path, 0);
+        while (segmentStart < path.length()) {
+            int segmentEnd = findSegmentEnd(path, segmentStart);
+            boolean[] nextStates = new boolean[patternParts.length + 1];
+            boolean anyLive = false;
+            for (int state = 0; state < patternParts.length; state++) {
+                if (!liveStates[state]) {
+                    continue;
                 }
-                pi++;
-                ti++;
-            } else {
-                if (ti >= text.length() || pc != text.charAt(ti)) {
-                    return false;
+                if (DOUBLE_STAR.equals(patternParts[state])) {
+                    nextStates[state] = true;
+                    anyLive = true;
+                } else if (matchPart(state, path, segmentStart, segmentEnd)) {
+                    nextStates[state + 1] = true;
+                    anyLive = true;
                 }
-                pi++;
-                ti++;
+            }
+            if (!anyLive) {
+                return nextStates;
+            }
+            closeOverWideDoubleStars(nextStates);
+            liveStates = nextStates;
+            segmentStart = skipSeparators(path, segmentEnd);
+        }
+        return liveStates;
+    }
+
+    private void closeOverWideDoubleStars(boolean[] states) {
+        for (int state = 0; state < patternParts.length; state++) {
+            if (states[state] && DOUBLE_STAR.equals(patternParts[state])) {
+                states[state + 1] = true;
             }
         }
-        return ti == text.length();
     }
 
     /**
-     * Handles a {@code *} wildcard by advancing past consecutive stars, then trying to
-     * anchor the rest of the pattern at every position from {@code ti} onward.
+     * Matches pattern segment {@code state} against the path segment {@code path[start, end)}.
+     */
+    private boolean matchPart(int state, String path, int start, int end) {
+        String part = patternParts[state];
+        if (literalParts[state]) {
+            return end - start == part.length() && path.regionMatches(start, part, 0, part.length());
+        }
+        return matchSegment(part, path, start, end);
+    }
+
+    /**
+     * Returns the index of the first non-separator character at or after {@code from}.
      *
-     * @param pattern the pattern string
-     * @param starPos index of the first {@code *} in {@code pattern}
-     * @param text    the text to match
-     * @param ti      current position in {@code text}
-     * @return {@code true} if the rest of the pattern matches any suffix of the text
-     */
-    private static boolean matchAfterStar(String pattern, int starPos, String text, int ti) {
-        int pi = starPos + 1;
-        // Skip consecutive stars — a single * already matches zero or more characters
-        while (pi < pattern.length() && pattern.charAt(pi) == WILDCARD_ANY) {
-            pi++;
+     * @param path the string form of a path
+     * @param from the index to start at
+     * @return the start of the next segment, or {@code path.length()} when none is left
+     */
+    static int skipSeparators(@NonNull String path, int from) {
+        int index = from;
+        while (index < path.length() && isSeparator(path.charAt(index))) {
+            index++;
         }
-        if (pi == pattern.length()) {
-            // Trailing * matches the rest of the text unconditionally
-            return true;
+        return index;
+    }
+
+    /**
+     * Returns the end (exclusive) of the segment starting at {@code segmentStart}.
+     *
+     * @param path         the string form of a path
+     * @param segmentStart the start of the segment
+     * @return the index of the next separator, or {@code path.length()}
+     */
+    static int findSegmentEnd(@NonNull String path, int segmentStart) {
+        int index = segmentStart;
+        while (index < path.length() && !isSeparator(path.charAt(index))) {
+            index++;
         }
-        for (int j = ti; j <= text.length(); j++) {
-            if (matchChars(pattern, pi, text, j)) {
-                return true;
+        return index;
+    }
+
+    private static boolean isSeparator(char character) {
+        return character == '/' || character == '\\';
+    }
+
+    /**
+     * Splits a slash-delimited path or pattern string into segments, discarding empty
+     * tokens caused by a leading, trailing, or doubled {@code /}.
+     *
+     * @param s the path or pattern string
+     * @return the non-empty segments
+     */
+    @NonNull
+    private static String[] splitSegments(String s) {
+        return Arrays.stream(s.split("/", -1)).filter(part -> !part.isEmpty()).toArray(String[]::new);
+    }
+
+    /**
+     * Character-level wildcard match of a whole segment pattern against the text region {@code [textStart, textEnd)}.
+     * {@code *} matches zero or more characters; {@code ?} matches exactly one character.
+     *
+     * <p>Greedy matching with a single restart point: on a mismatch only the most recent {@code *} is extended by
+     * one character, because any earlier {@code *} could only be extended to positions the latest one also covers.
+     * This bounds the work at {@code O(pattern.length() * segmentLength)} — a pattern such as
+     * {@code *a*a*a*a*b} cannot trigger the exponential backtracking of a recursive matcher.</p>
+     *
+     * @param pattern   the segment pattern
+     * @param text      the text holding the segment
+     * @param textStart start index of the segment in {@code text}
+     * @param textEnd   end index (exclusive) of the segment in {@code text}
+     * @return {@code true} if the pattern matches the whole segment
+     */
+    static boolean matchSegment(@NonNull String pattern, @NonNull String text, int textStart, int textEnd) {
+        int pi = 0;
+        int ti = textStart;
+        int starPi = -1;
+        int starTi = -1;
+        while (ti < textEnd) {
+            if (pi < pattern.length()) {
+                char pc = pattern.charAt(pi);
+                if (pc == WILDCARD_ANY) {
+                    // Remember the restart point; the star first matches the empty string.
+                    starPi = pi++;
+                    starTi = ti;
+                    continue;
+                }
+                if (pc == WILDCARD_ONE || pc == text.charAt(ti)) {
+                    pi++;
+                    ti++;
+                    continue;
+                }
+            }
+            if (starPi < 0) {
+                return false;
             }
+            // Let the latest star swallow one more character and retry the rest of the pattern.
+            pi = starPi + 1;
+            ti = ++starTi;
+        }
+        while (pi < pattern.length() && pattern.charAt(pi) == WILDCARD_ANY) {
+            pi++;
         }
-        return false;
+        return pi == pattern.length();
     }
 }
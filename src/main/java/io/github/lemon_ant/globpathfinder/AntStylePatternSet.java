@@ -0,0 +1,367 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static io.github.lemon_ant.globpathfinder.AntStylePathMatcher.findSegmentEnd;
+import static io.github.lemon_ant.globpathfinder.AntStylePathMatcher.matchSegment;
+import static io.github.lemon_ant.globpathfinder.AntStylePathMatcher.skipSeparators;
+
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A set of glob patterns compiled into a single segment-level automaton, so that a path is matched against all of
+ * them in one pass instead of one full match per pattern.
+ *
+ * <h2>Automaton</h2>
+ * <p>Every {@link AntStylePathMatcher} contributes its NFA states ({@code segmentCount + 1}, the last one
+ * accepting) to one shared state space, kept as a bit set. For each path segment the whole set advances at once:</p>
+ * <ul>
+ *   <li>{@code **} states stay live (one bitwise {@code AND});</li>
+ *   <li>literal states are resolved by a single hash lookup of the segment in a table of all literal segments, which
+ *       yields the bit set of states expecting exactly that name — 200 patterns ending in {@code node_modules} cost
+ *       one lookup, not 200 comparisons;</li>
+ *   <li>only states holding a wildcard segment such as {@code *.java} are matched one by one;</li>
+ *   <li>consumed states move to their successor with one shift, then {@code **} states are closed over.</li>
+ * </ul>
+ * <p>The walk stops as soon as no state is live. The path is scanned directly over its string form, as in
+ * {@link AntStylePathMatcher}; a step allocates only two bit-set words per 64 states.</p>
+ *
+ * <h2>Incremental matching</h2>
+ * <p>The live states after a directory are a complete summary of it: {@link #initialStates()} and
+ * {@link #advance(long[], String, int)} let a tree walk keep them per directory and advance them by one entry name,
+ * instead of matching every entry's path from its first segment. All queries of the set take such states.</p>
+ */
+final class AntStylePatternSet {
+
+    private static final AntStylePatternSet EMPTY = new AntStylePatternSet(List.of());
+
+    /**
+     * Accepting state of each pattern.
+     */
+    private final long[] acceptStates;
+
+    /**
+     * Every state that still expects a segment, i.e. all non-accepting states.
+     */
+    private final long[] activeStates;
+
+    private final long[] doubleStarStates;
+    private final LiteralTable literalTable;
+    private final int maxMatchDepth;
+    private final int patternCount;
+
+    /**
+     * Start states closed over leading {@code **} segments: the live states of the empty path.
+     */
+    private final long[] closedStartStates;
+
+    private final String[] stateSegments;
+    private final long[] startStates;
+
+    /**
+     * States inside a trailing {@code **} run: reaching one after a directory means every descendant matches.
+     */
+    private final long[] trailingDoubleStarStates;
+
+    private final long[] wildcardStates;
+
+    private AntStylePatternSet(List<AntStylePathMatcher> patterns) {
+        this.patternCount = patterns.size();
+        int stateCount = 0;
+        for (AntStylePathMatcher pattern : patterns) {
+            stateCount += pattern.getSegmentCount() + 1;
+        }
+        int words = Math.max(1, (stateCount + Long.SIZE - 1) / Long.SIZE);
+        this.acceptStates = new long[words];
+        this.activeStates = new long[words];
+        this.doubleStarStates = new long[words];
+        this.startStates = new long[words];
+        this.trailingDoubleStarStates = new long[words];
+        this.wildcardStates = new long[words];
+        this.stateSegments = new String[stateCount];
+        Map<String, long[]> literalToStates = new HashMap<>();
+
+        int deepestMatch = 0;
+        int state = 0;
+        for (AntStylePathMatcher antPattern : patterns) {
+            deepestMatch = Math.max(deepestMatch, antPattern.getSegmentCount());
+            setBit(startStates, state);
+            for (int segment = 0; segment < antPattern.getSegmentCount(); segment++, state++) {
+                stateSegments[state] = antPattern.getSegment(segment);
+                setBit(activeStates, state);
+                if (antPattern.isDoubleStarSegment(segment)) {
+                    deepestMatch = Integer.MAX_VALUE;
+                    setBit(doubleStarStates, state);
+                    if (segment >= antPattern.getTrailingDoubleStarStart()) {
+                        setBit(trailingDoubleStarStates, state);
+                    }
+                } else if (antPattern.isLiteralSegment(segment)) {
+                    setBit(literalToStates.computeIfAbsent(stateSegments[state], key -> new long[words]), state);
+                } else {
+                    setBit(wildcardStates, state);
+                }
+            }
+            setBit(acceptStates, state);
+            state++;
+        }
+        this.literalTable = new LiteralTable(literalToStates);
+        this.maxMatchDepth = deepestMatch;
+        this.closedStartStates = startStates.clone();
+        closeOverDoubleStars(closedStartStates);
+    }
+
+    /**
+     * Compiles the given matchers into one pattern set.
+     *
+     * @param matchers the matchers to combine
+     * @return the compiled set; an empty set matches nothing
+     * @throws IllegalArgumentException if a matcher is not an {@link AntStylePathMatcher}
+     */
+    @NonNull
+    static AntStylePatternSet of(@NonNull Collection<? extends PathMatcher> matchers) {
+        if (matchers.isEmpty()) {
+            return EMPTY;
+        }
+        List<AntStylePathMatcher> patterns = new ArrayList<>(matchers.size());
+        for (PathMatcher matcher : matchers) {
+            if (!(matcher instanceof AntStylePathMatcher)) {
+                throw new IllegalArgumentException("Not an AntStylePathMatcher: " + matcher);
+            }
+            patterns.add((AntStylePathMatcher) matcher);
+        }
+        return new AntStylePatternSet(patterns);
+    }
+
+    /**
+     * Returns the most segments a matched path can have. A pattern without {@code **} matches paths of exactly its
+     * own segment count, so a set of such patterns never matches below its longest one.
+     *
+     * @return the largest segment count of the patterns, {@code 0} for an empty set, or {@link Integer#MAX_VALUE}
+     *         if some pattern holds {@code **}
+     */
+    int getMaxMatchDepth() {
+        return maxMatchDepth;
+    }
+
+    /**
+     * Tells whether the set holds no pattern.
+     *
+     * @return {@code true} if the set is empty
+     */
+    boolean isEmpty() {
+        return patternCount == 0;
+    }
+
+    /**
+     * Returns the live states of the empty path, i.e. of a walk's base directory itself. The returned array is
+     * shared and must not be modified.
+     *
+     * @return the start states
+     */
+    long @NonNull [] initialStates() {
+        return closedStartStates;
+    }
+
+    /**
+     * Advances {@code states} over the segments of {@code path} from {@code fromIndex} on; a walk passes the
+     * entry's path and the length of its directory's path to advance by the entry name alone.
+     *
+     * @param states    live states as returned by {@link #initialStates()} or a previous call; left unchanged
+     * @param path      the string form of the path
+     * @param fromIndex the index where the segments to consume start
+     * @return the live states after consuming those segments; may be {@code states} itself if there are none
+     */
+    long @NonNull [] advance(long @NonNull [] states, @NonNull String path, int fromIndex) {
+        long[] liveStates = states;
+        long[] spareStates = null;
+        int segmentStart = skipSeparators(path, fromIndex);
+        while (segmentStart < path.length()) {
+            int segmentEnd = findSegmentEnd(path, segmentStart);
+            long[] nextStates = spareStates != null ? spareStates : new long[liveStates.length];
+            if (!step(liveStates, nextStates, path, segmentStart, segmentEnd)) {
+                return nextStates;
+            }
+            closeOverDoubleStars(nextStates);
+            spareStates = liveStates == states ? null : liveStates;
+            liveStates = nextStates;
+            segmentStart = skipSeparators(path, segmentEnd);
+        }
+        return liveStates;
+    }
+
+    /**
+     * Tells whether some pattern accepts the path that led to {@code states}.
+     *
+     * @param states live states as returned by {@link #advance}
+     * @return {@code true} if a compiled pattern matches
+     */
+    boolean accepts(long @NonNull [] states) {
+        return intersects(states, acceptStates);
+    }
+
+    /**
+     * Returns {@code true} if some pattern provably matches every strict descendant of the directory that led to
+     * {@code states}, i.e. a live state lies in a trailing {@code **} run: {@code **}{@code /node_modules/**} matches
+     * everything below {@code web/node_modules}. A {@code false} answer means "not proven".
+     *
+     * @param states live states of the directory
+     * @return {@code true} if the whole subtree below the directory is matched
+     */
+    boolean matchesAllDescendants(long @NonNull [] states) {
+        return intersects(states, trailingDoubleStarStates);
+    }
+
+    /**
+     * Returns {@code true} if some strict descendant of the directory that led to {@code states} may still be matched
+     * by a pattern: {@code *}{@code /main/**}{@code /*.java} may match below {@code foo} and {@code foo/main}, but not
+     * below {@code foo/test}. Also {@code false} once no state is live, which lets a walk stop advancing a dead set.
+     *
+     * @param states live states of the directory
+     * @return {@code false} if no descendant of the directory can match any pattern
+     */
+    boolean mayMatchDescendants(long @NonNull [] states) {
+        return intersects(states, activeStates);
+    }
+
+    /**
+     * Collects the entry names that some live state consumes next, provided every live state expects a literal
+     * segment. A walk can then look those entries up instead of listing the directory, since no other entry can
+     * advance a pattern. The names {@code .} and {@code ..} are skipped: a listing never returns them.
+     *
+     * @param states live states of the directory
+     * @param names  receives the literal names; may be partly filled when {@code false} is returned
+     * @return {@code false} if some live state expects a wildcard segment or {@code **}
+     */
+    boolean collectNextLiterals(long @NonNull [] states, @NonNull Collection<String> names) {
+        for (int word = 0; word < states.length; word++) {
+            if ((states[word] & (wildcardStates[word] | doubleStarStates[word])) != 0) {
+                return false;
+            }
+            for (long literal = states[word] & activeStates[word]; literal != 0; literal &= literal - 1) {
+                String segment = stateSegments[word * Long.SIZE + Long.numberOfTrailingZeros(literal)];
+                if (!".".equals(segment) && !"..".equals(segment)) {
+                    names.add(segment);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Consumes the segment {@code path[segmentStart, segmentEnd)} for every live state.
+     *
+     * @return {@code false} if no state is live afterwards
+     */
+    private boolean step(long[] liveStates, long[] nextStates, String path, int segmentStart, int segmentEnd) {
+        long[] literalMatches = literalTable.find(path, segmentStart, segmentEnd);
+        boolean anyLive = false;
+        long carry = 0;
+        for (int word = 0; word < liveStates.length; word++) {
+            long live = liveStates[word];
+            long consumed = literalMatches == null ? 0 : live & literalMatches[word];
+            for (long pending = live & wildcardStates[word]; pending != 0; pending &= pending - 1) {
+                int bit = Long.numberOfTrailingZeros(pending);
+                if (matchSegment(stateSegments[word * Long.SIZE + bit], path, segmentStart, segmentEnd)) {
+                    consumed |= 1L << bit;
+                }
+            }
+            // A consumed state moves to its successor; ** states also stay where they are.
+            long next = (live & doubleStarStates[word]) | (consumed << 1) | carry;
+            carry = consumed >>> (Long.SIZE - 1);
+            nextStates[word] = next;
+            anyLive |= next != 0;
+        }
+        return anyLive;
+    }
+
+    /**
+     * Adds the states reachable by skipping {@code **} segments without consuming a path segment.
+     */
+    private void closeOverDoubleStars(long[] states) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            long carry = 0;
+            for (int word = 0; word < states.length; word++) {
+                long skipping = states[word] & doubleStarStates[word];
+                long reachable = states[word] | (skipping << 1) | carry;
+                carry = skipping >>> (Long.SIZE - 1);
+                if (reachable != states[word]) {
+                    states[word] = reachable;
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    private static boolean intersects(long[] first, long[] second) {
+        for (int word = 0; word < first.length; word++) {
+            if ((first[word] & second[word]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void setBit(long[] states, int state) {
+        states[state / Long.SIZE] |= 1L << (state % Long.SIZE);
+    }
+
+    /**
+     * Open-addressing table from literal segment to the states expecting it, probed with a path region so that the
+     * lookup allocates no substring. Hashes follow {@link String#hashCode()}.
+     */
+    private static final class LiteralTable {
+
+        private final String[] keys;
+        private final int mask;
+        private final long[][] states;
+
+        private LiteralTable(Map<String, long[]> literalToStates) {
+            int capacity = Integer.highestOneBit(Math.max(1, literalToStates.size() * 2)) * 2;
+            this.keys = new String[capacity];
+            this.states = new long[capacity][];
+            this.mask = capacity - 1;
+            for (Map.Entry<String, long[]> entry : literalToStates.entrySet()) {
+                int slot = spread(entry.getKey().hashCode()) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = entry.getKey();
+                states[slot] = entry.getValue();
+            }
+        }
+
+        /**
+         * Returns the states expecting the segment {@code path[start, end)}, or {@code null} if no literal equals it.
+         */
+        private long @Nullable [] find(String path, int start, int end) {
+            int length = end - start;
+            int hash = 0;
+            for (int index = start; index < end; index++) {
+                hash = 31 * hash + path.charAt(index);
+            }
+            for (int slot = spread(hash) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+                String key = keys[slot];
+                if (key.length() == length && key.hashCode() == hash && path.regionMatches(start, key, 0, length)) {
+                    return states[slot];
+                }
+            }
+            return null;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
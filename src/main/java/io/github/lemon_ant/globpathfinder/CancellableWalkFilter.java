@@ -0,0 +1,87 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@link TreeWalkFilter} that stops a walk once its {@link CancellationToken} is cancelled or its time budget is
+ * spent, and otherwise decides as the filter it wraps.
+ *
+ * <p>Every walker asks {@link #findCandidateNames} right before it reads a directory, so the check runs once per
+ * directory read and throws {@link TraversalCancelledException} between two reads. The walkers let that exception
+ * end the walk and reach the consumer, as they do with any runtime failure of their filter.</p>
+ *
+ * @param <S> the per-entry state of the wrapped filter
+ */
+final class CancellableWalkFilter<S> implements TreeWalkFilter<S> {
+
+    @Nullable
+    private final CancellationToken cancellationToken;
+
+    private final TreeWalkFilter<S> delegate;
+    private final long startNanos;
+    private final long timeoutNanos;
+
+    /**
+     * @param delegate          the filter that decides on entries and directories
+     * @param cancellationToken stops the walk once cancelled; {@code null} for none
+     * @param startNanos        the {@link System#nanoTime()} the time budget counts from
+     * @param timeoutNanos      the time budget in nanoseconds; not positive for none
+     */
+    CancellableWalkFilter(
+            @NonNull TreeWalkFilter<S> delegate,
+            @Nullable CancellationToken cancellationToken,
+            long startNanos,
+            long timeoutNanos) {
+        this.delegate = delegate;
+        this.cancellationToken = cancellationToken;
+        this.startNanos = startNanos;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    @Override
+    public S startState(Path start) {
+        return delegate.startState(start);
+    }
+
+    @Override
+    public S childState(S directoryState, Path child) {
+        return delegate.childState(directoryState, child);
+    }
+
+    @Override
+    public boolean isMatched(S state, Path path, BasicFileAttributes attributes) {
+        return delegate.isMatched(state, path, attributes);
+    }
+
+    @Override
+    public boolean isDescended(S state, Path directory, BasicFileAttributes attributes) {
+        return delegate.isDescended(state, directory, attributes);
+    }
+
+    /**
+     * Throws if the walk must stop, before {@code directory} is read; otherwise names the candidates as the wrapped
+     * filter does.
+     *
+     * @throws TraversalCancelledException if the token is cancelled or the time budget is spent
+     */
+    @Override
+    @Nullable
+    public Collection<String> findCandidateNames(S state, Path directory) {
+        if (cancellationToken != null && cancellationToken.isCancelled()) {
+            throw new TraversalCancelledException("Traversal cancelled before reading " + directory, false);
+        }
+        if (timeoutNanos > 0 && System.nanoTime() - startNanos >= timeoutNanos) {
+            throw new TraversalCancelledException("Traversal timed out before reading " + directory, true);
+        }
+        return delegate.findCandidateNames(state, directory);
+    }
+}
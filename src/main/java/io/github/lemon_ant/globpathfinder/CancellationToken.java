@@ -0,0 +1,36 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+/**
+ * Handle to cancel the traversals of the queries that carry it in {@link PathQuery#getCancellationToken()}.
+ *
+ * <p>After {@link #cancel()}, every running traversal of such a query stops before its next directory read, and its
+ * stream fails with a {@link TraversalCancelledException}; a traversal started later fails before reading any
+ * directory. A directory read in progress is not interrupted. Cancellation cannot be undone, so a token serves one
+ * batch of traversals; any thread may cancel it.</p>
+ */
+@SuppressWarnings("PMD.AvoidUsingVolatile")
+public final class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    /**
+     * Cancels the traversals of every query that carries this token; further calls have no effect.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Tells whether {@link #cancel()} was called.
+     *
+     * @return {@code true} once this token is cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@link DirectoryStream} over named entries of a directory, looked up one by one instead of listing the directory.
+ * It yields the entries that exist, in the order of the names, so a walker consumes it exactly like a listing.
+ *
+ * <p>Each name costs one real-path lookup of the entry itself, never of a link target, so a dangling link is yielded
+ * just as a listing would. A name that cannot form a path on this file system cannot exist and is skipped. Any other
+ * failure is thrown as {@link DirectoryIteratorException}, as a failing listing does.</p>
+ *
+ * <p>On a case-insensitive file system a lookup also finds an entry spelled differently, which a listing would
+ * return under its own spelling for a case-sensitive pattern to reject. Such an entry is skipped: an entry is only
+ * yielded when its real name, as {@link Path#toRealPath} reports it without following links, equals the given
+ * name. Where the runtime cannot report the stored spelling (macOS before Java 21), the given spelling is kept.</p>
+ */
+final class CandidateDirectoryStream implements DirectoryStream<Path> {
+
+    private final Path directory;
+    private final Iterator<String> names;
+    private boolean iterated;
+
+    /**
+     * Creates the stream of {@code directory}'s entries named {@code names}.
+     *
+     * @param directory the directory
+     * @param names     the entry names to look up
+     */
+    CandidateDirectoryStream(@NonNull Path directory, @NonNull Collection<String> names) {
+        this.directory = directory;
+        this.names = names.iterator();
+    }
+
+    @Override
+    public Iterator<Path> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("Iterator already obtained");
+        }
+        iterated = true;
+        return new Iterator<>() {
+            @Nullable
+            private Path next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    next = findNext();
+                }
+                return next != null;
+            }
+
+            @Override
+            public Path next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Path current = next;
+                next = null;
+                return current;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        // nothing is held open
+    }
+
+    @Nullable
+    private Path findNext() {
+        while (names.hasNext()) {
+            String name = names.next();
+            Path entry = resolveQuietly(name);
+            if (entry != null && existsAsNamed(entry, name)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private Path resolveQuietly(String name) {
+        try {
+            return directory.resolve(name);
+        } catch (InvalidPathException invalidName) {
+            return null;
+        }
+    }
+
+    /**
+     * Tells whether {@code entry} exists and is stored under exactly {@code name}.
+     */
+    private static boolean existsAsNamed(Path entry, String name) {
+        try {
+            Path realEntry = entry.toRealPath(LinkOption.NOFOLLOW_LINKS);
+            Path realName = realEntry.getFileName();
+            return realName != null && realName.toString().equals(name);
+        } catch (NoSuchFileException missing) {
+            return false;
+        } catch (IOException ioe) {
+            throw new DirectoryIteratorException(ioe);
+        }
+    }
+}
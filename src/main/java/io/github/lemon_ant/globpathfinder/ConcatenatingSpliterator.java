@@ -0,0 +1,139 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Lazy concatenation of the streams opened for a sequence of sources, one at a time, with an element filter and a
+ * result limit.
+ *
+ * <h2>Why not {@code flatMap}</h2>
+ * <p>A {@code Stream.flatMap} pipeline consumed through {@link Stream#spliterator()} pushes the <i>whole</i> inner
+ * stream of a source into a buffer on the first {@code tryAdvance}: the buffering sink never requests cancellation.
+ * For a tree walk this means that taking one path reads the entire base first. This spliterator pulls each inner
+ * stream element by element instead, so a walk only advances as far as the consumer does.</p>
+ *
+ * <h2>Limit</h2>
+ * <p>Once {@code limit} elements have passed the filter, the open stream is closed right after the last one is
+ * handed out, so background walkers stop listing directories while the consumer is still processing it, and no
+ * further source is opened.</p>
+ *
+ * <p>Closing this spliterator closes the stream that is currently open; exhausted streams are closed as soon as
+ * they run out.</p>
+ *
+ * @param <S> the source type
+ * @param <T> the element type
+ */
+final class ConcatenatingSpliterator<S, T> implements Spliterator<T> {
+
+    private final Predicate<? super T> filter;
+    private final long limit;
+    private final Function<? super S, Stream<T>> opener;
+    private final Iterator<? extends S> sources;
+
+    @Nullable
+    private Stream<T> currentStream;
+
+    @Nullable
+    private Spliterator<T> current;
+
+    private long emitted;
+    private boolean filterPassed;
+
+    /**
+     * Creates the concatenation of the streams opened for {@code sources}.
+     *
+     * @param sources the sources, opened in iteration order
+     * @param opener  opens the stream of one source; called lazily, when the previous stream is exhausted
+     * @param filter  decides whether an element is emitted; it runs once per element, in encounter order
+     * @param limit   the maximum number of elements to emit; must not be negative
+     */
+    ConcatenatingSpliterator(
+            @NonNull Iterator<? extends S> sources,
+            @NonNull Function<? super S, Stream<T>> opener,
+            @NonNull Predicate<? super T> filter,
+            long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative: " + limit);
+        }
+        this.sources = sources;
+        this.opener = opener;
+        this.filter = filter;
+        this.limit = limit;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (emitted < limit) {
+            Spliterator<T> spliterator = current;
+            if (spliterator == null) {
+                if (!sources.hasNext()) {
+                    return false;
+                }
+                Stream<T> opened = opener.apply(sources.next());
+                currentStream = opened;
+                spliterator = opened.spliterator();
+                current = spliterator;
+            }
+            filterPassed = false;
+            if (!spliterator.tryAdvance(element -> emitIfPassing(element, action))) {
+                close();
+            } else if (filterPassed) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @Nullable
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.NONNULL;
+    }
+
+    /**
+     * Closes the stream that is currently open, if any.
+     */
+    void close() {
+        Stream<T> open = currentStream;
+        currentStream = null;
+        current = null;
+        if (open != null) {
+            open.close();
+        }
+    }
+
+    private void emitIfPassing(T element, Consumer<? super T> action) {
+        if (!filter.test(element)) {
+            return;
+        }
+        filterPassed = true;
+        emitted++;
+        if (emitted == limit) {
+            // Stop the walk before the consumer sees the last element; it may take a while to process it.
+            close();
+        }
+        action.accept(element);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static io.github.lemon_ant.globpathfinder.PathTreeWalker.isSameFileQuietly;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Immutable ancestor chain of a directory, used by the concurrent walkers for link-cycle detection without shared
+ * state: every directory task extends its parent's chain instead of consulting a common stack.
+ */
+final class DirectoryAncestors {
+
+    @Nullable
+    private final Object fileKey;
+
+    @Nullable
+    private final DirectoryAncestors parent;
+
+    private final Path path;
+
+    private DirectoryAncestors(Path path, @Nullable Object fileKey, @Nullable DirectoryAncestors parent) {
+        this.path = path;
+        this.fileKey = fileKey;
+        this.parent = parent;
+    }
+
+    /**
+     * Starts a chain at the walk's root directory.
+     *
+     * @param root       the root directory
+     * @param attributes the attributes of {@code root}
+     * @return a chain containing only {@code root}
+     */
+    @NonNull
+    static DirectoryAncestors root(@NonNull Path root, @NonNull BasicFileAttributes attributes) {
+        return new DirectoryAncestors(root, attributes.fileKey(), null);
+    }
+
+    /**
+     * Extends this chain with a child directory.
+     *
+     * @param directory the child directory
+     * @param fileKey   the file key of {@code directory}, or {@code null} if the file system has none
+     * @return a new chain ending at {@code directory}
+     */
+    @NonNull
+    DirectoryAncestors child(@NonNull Path directory, @Nullable Object fileKey) {
+        return new DirectoryAncestors(directory, fileKey, this);
+    }
+
+    /**
+     * Checks whether {@code directory} is already on this chain, comparing file keys when both are known and
+     * falling back to {@link java.nio.file.Files#isSameFile} otherwise.
+     *
+     * @param directory    the directory about to be entered
+     * @param directoryKey the file key of {@code directory}, or {@code null} if the file system has none
+     * @return {@code true} if entering {@code directory} would close a cycle
+     */
+    boolean contains(@NonNull Path directory, @Nullable Object directoryKey) {
+        for (DirectoryAncestors ancestor = this; ancestor != null; ancestor = ancestor.parent) {
+            if (directoryKey != null && ancestor.fileKey != null) {
+                if (directoryKey.equals(ancestor.fileKey)) {
+                    return true;
+                }
+            } else if (isSameFileQuietly(directory, ancestor.path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -13,9 +13,12 @@ import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiPredicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import lombok.NonNull;
@@ -56,15 +59,58 @@ class FileMatchingUtils {
     }
 
     /**
-     * Returns {@code true} if the given path matches at least one of the provided matchers,
-     * or if the matcher set is empty (empty set means "match all").
+     * Plans one walk per subtree: every base that lies below another base is folded into the walk of its outermost
+     * ancestor, so that overlapping includes such as {@code src/**}{@code /*.java} and
+     * {@code src/main/**}{@code /*.xml} list {@code src/main} once instead of twice. Folded bases keep their own
+     * matchers, because include and relative exclude patterns are evaluated against paths relative to the base they
+     * were written for.
      *
-     * @param pathToMatch  the path to test
-     * @param pathMatchers the set of matchers to check against; an empty set always returns {@code true}
-     * @return {@code true} if the path matches any matcher or the set is empty
+     * <p>Only normalized bases are folded, and only when {@code isWalkedThrough} confirms that the walk of the outer
+     * base reaches the inner one (for example, no symbolic link in between). Every other base keeps its own walk.</p>
+     *
+     * @param baseToIncludeMatchers the grouped include matchers, as returned by {@link #computeBaseToIncludeMatchers}
+     *                              or compiled from it
+     * @param isWalkedThrough       decides whether a walk rooted at the first path reaches the second path
+     * @param <M>                   the type of the per-base matchers
+     * @return a map from walk root to the bases walked under it with their matchers; the root's own base, if any,
+     *         comes first
+     */
+    @NonNull
+    static <M> Map<Path, Map<Path, M>> mergeNestedBases(
+            @NonNull Map<Path, M> baseToIncludeMatchers, @NonNull BiPredicate<Path, Path> isWalkedThrough) {
+        List<Path> basesOuterFirst = baseToIncludeMatchers.keySet().stream()
+                .sorted(Comparator.comparingInt(Path::getNameCount).thenComparing(Comparator.naturalOrder()))
+                .collect(Collectors.toList());
+        Map<Path, Map<Path, M>> rootToIncludeBases = new LinkedHashMap<>();
+        for (Path base : basesOuterFirst) {
+            Path root = base;
+            if (isNormalized(base)) {
+                root = rootToIncludeBases.keySet().stream()
+                        .filter(candidate -> isNormalized(candidate)
+                                && base.startsWith(candidate)
+                                && isWalkedThrough.test(candidate, base))
+                        .findFirst()
+                        .orElse(base);
+            }
+            rootToIncludeBases
+                    .computeIfAbsent(root, key -> new LinkedHashMap<>())
+                    .put(base, baseToIncludeMatchers.get(base));
+        }
+        return rootToIncludeBases;
+    }
+
+    /**
+     * Returns the walk roots that lie inside another walk root (lexically), i.e. the only regions where two walks
+     * can emit the same path. After {@link #mergeNestedBases} this is empty unless a base could not be folded.
+     *
+     * @param walkRoots the roots of all planned walks
+     * @return the roots nested in another root; empty when all walks are disjoint
      */
-    static boolean isMatchedToPatterns(@NonNull Path pathToMatch, @NonNull Set<PathMatcher> pathMatchers) {
-        return pathMatchers.isEmpty() || pathMatchers.stream().anyMatch(matcher -> matcher.matches(pathToMatch));
+    @NonNull
+    static Set<Path> findNestedRoots(@NonNull Collection<Path> walkRoots) {
+        return walkRoots.stream()
+                .filter(root -> walkRoots.stream().anyMatch(other -> !other.equals(root) && root.startsWith(other)))
+                .collect(Collectors.toUnmodifiableSet());
     }
 
     /**
@@ -144,6 +190,10 @@ class FileMatchingUtils {
                 || WINDOWS_DRIVE_PATTERN.matcher(normalized).matches();
     }
 
+    private static boolean isNormalized(Path path) {
+        return path.equals(path.normalize());
+    }
+
     private static boolean isWildcardSegment(String segment) {
         return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0;
     }
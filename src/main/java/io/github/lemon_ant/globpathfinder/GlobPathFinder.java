@@ -6,27 +6,48 @@
 package io.github.lemon_ant.globpathfinder;
 
 import static io.github.lemon_ant.globpathfinder.FileMatchingUtils.computeBaseToIncludeMatchers;
+import static io.github.lemon_ant.globpathfinder.FileMatchingUtils.findNestedRoots;
+import static io.github.lemon_ant.globpathfinder.FileMatchingUtils.mergeNestedBases;
 import static io.github.lemon_ant.globpathfinder.FileMatchingUtils.partitionAbsoluteAndRelative;
+import static io.github.lemon_ant.globpathfinder.PathTreeWalker.PATH_RESULT;
+import static io.github.lemon_ant.globpathfinder.PathTreeWalker.readAttributes;
 import static io.github.lemon_ant.globpathfinder.StringUtils.processNormalizedStrings;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.NonNull;
+import lombok.Value;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
@@ -37,22 +58,68 @@ import lombok.extern.slf4j.Slf4j;
  * <ul>
  *   <li><b>Base directory</b>: {@code pathQuery.baseDir} is normalized to an absolute, normalized path before traversal.</li>
  *   <li><b>Include globs</b>: patterns are grouped by extracted base via {@code computeBaseToPattern}. For a base path,
- *       an empty matcher set means “match all under that base”.</li>
+ *       an empty matcher set means “match all under that base”. Inside a base, a directory is only descended into
+ *       while some include pattern can still match below it, so {@code src/*}{@code /main/**} never lists
+ *       {@code src/foo/test}. A base nested in another base (e.g. {@code src/main} under {@code src}) is walked as
+ *       part of the outer walk, keeping its own patterns, so every subtree is listed once (fail-fast mode only).
+ *       A literal include naming a file (e.g. {@code pom.xml}) costs one attribute read, and a literal tail after
+ *       wildcards (e.g. {@code *}{@code /pom.xml}) is looked up in each directory rather than listed.</li>
  *   <li><b>Extensions</b>: case-insensitive filter built from {@code allowedExtensions}. An empty set disables the filter.</li>
- *   <li><b>Excludes</b>: relative/absolute patterns compiled as Ant-style {@code PathMatcher}s.</li>
+ *   <li><b>Excludes</b>: relative/absolute patterns compiled as Ant-style {@code PathMatcher}s. A directory whose
+ *       every descendant is matched by an exclude (e.g. {@code **}{@code /node_modules/**}) is not listed at all:
+ *       the traversal prunes it before reading its entries.</li>
+ *   <li><b>Matching</b>: file type, size and time bounds, extensions, includes and excludes are evaluated inside
+ *       the walker by one {@link GlobWalkFilter}, which carries each directory's pattern match state to its
+ *       entries, so an entry is matched by its own name rather than its whole path, and a rejected entry never
+ *       reaches a stream stage. Size and time bounds read the attributes the walker already holds.</li>
  *   <li><b>Files/directories</b>: {@code onlyFiles=true} keeps regular files only; otherwise both files and directories may appear.</li>
- *   <li><b>Depth/options</b>: {@code maxDepth} and {@code getVisitOptions()} are passed to {@link java.nio.file.Files#find}.</li>
- *   <li><b>Parallelism</b>: per-entry streams from {@link java.nio.file.Files#find} are merged via
- *       {@code flatMap} and then wrapped in a {@link BatchingSpliterator} with a batch size of
- *       {@code availableProcessors() * 2}. This enables effective parallel splitting via {@code .parallel()}
- *       without collecting all discovered paths into an intermediate collection.
+ *   <li><b>Depth/options</b>: {@code maxDepth} and {@code followLinks} are passed to {@link PathTreeWalker}, a lazy
+ *       {@link java.nio.file.Files#find} equivalent that can skip subtrees. Includes without {@code **} lower the
+ *       depth to their own length, so {@code *}{@code /pom.xml} walks two levels.</li>
+ *   <li><b>Traversal mode</b>: with {@link TraversalMode#PARALLEL} each base lists directories concurrently, up to
+ *       {@code traversalParallelism} at a time — on virtual threads ({@link VirtualThreadTreeWalker}) on Java 21+,
+ *       otherwise on a fork/join pool ({@link ParallelTreeWalker}); all walkers use the same
+ *       {@link GlobWalkFilter}.</li>
+ *   <li><b>Parallelism</b>: per-entry streams from {@link PathTreeWalker} are concatenated lazily, one walk
+ *       at a time, and then wrapped in a {@link BatchingSpliterator} whose batches start at {@code batchSize}
+ *       and grow by as much per split up to {@code maxBatchSize}. This enables effective parallel splitting via
+ *       {@code .parallel()} without collecting all discovered paths into an intermediate collection.
  *       Each batch is backed by an array-based spliterator that further splits down to individual
  *       elements, so work distributes across all available threads.
- *       Note: {@code distinct()} maintains an internal {@code HashSet} of {@code O(uniquePaths)} for
- *       deduplication, but paths flow through incrementally — no full path collection is created before
- *       processing starts.</li>
- *   <li><b>Uniqueness</b>: resulting paths are deduplicated; the stream yields unique entries ({@code distinct()}).</li>
- *   <li><b>Stream safety</b>: the inner stream from {@code Files.find(...)} is closed via {@code onClose} when the outer stream is closed.</li>
+ *       Paths flow through incrementally — no full path collection is created before processing starts.
+ *       With {@code prefetchBatches} or a {@code batchLatency}, the walks run on a {@link PrefetchingSpliterator}
+ *       producer thread instead, which queues at most that many batches ahead of the consumer, so directory reads
+ *       overlap with processing; with a {@code batchLatency} a split hands out the paths that arrived within that
+ *       time rather than waiting for a full batch.</li>
+ *   <li><b>Concurrent bases</b>: with {@code baseConcurrency} above one, an {@link InterleavingSpliterator} walks
+ *       up to that many walk roots at once and interleaves their paths as they are found, through a bounded queue
+ *       that pauses the walks while the consumer falls behind. Paths of one root keep their walk order; a limited
+ *       stream then reads ahead by up to that queue, and the limit closes all running walks.</li>
+ *   <li><b>Uniqueness</b>: the stream yields unique entries. Walks of disjoint bases cannot emit the same path, so
+ *       no deduplication state is kept for them; only where a base could not be folded into an enclosing walk are
+ *       the paths below it remembered to drop the second occurrence.</li>
+ *   <li><b>Stream safety</b>: the inner walker stream is closed via {@code onClose} when the outer stream is closed.</li>
+ *   <li><b>Entries</b>: {@link #findEntries(PathQuery)} runs the same pipeline but emits each path with the
+ *       {@link BasicFileAttributes} the walker read to filter it, so callers need not read them again.</li>
+ *   <li><b>Early termination</b>: {@code maxResults}, {@link #findFirst(PathQuery)} and {@link #exists(PathQuery)}
+ *       close the running walk as soon as the last wanted result is emitted, so no further directory is read. A
+ *       limited stream is not batched, so it never reads ahead of the consumer, and {@code .parallel()} does not
+ *       split it.</li>
+ *   <li><b>Cancellation</b>: with a {@code cancellationToken} or a {@code timeout} in the query, each walk checks
+ *       them through a {@link CancellableWalkFilter} before every directory read, in all traversal modes and
+ *       regardless of {@code failFastOnError}. A cancelled or timed-out walk fails with a
+ *       {@link TraversalCancelledException}, which reaches the consumer like a walk failure and stops the other
+ *       walks of the query; closing the stream then releases their open directories.</li>
+ *   <li><b>Counting</b>: {@link #count(PathQuery)} counts matched paths inside each walk. Disjoint bases are
+ *       counted one by one on the calling thread, or in parallel on the query's {@code forkJoinPool}, and no path is
+ *       remembered, batched or streamed; a limit or overlapping bases fall back to counting the stream of
+ *       {@link #findPaths(PathQuery)}.</li>
+ *   <li><b>Caller's pool</b>: with a {@code forkJoinPool} in the query, {@link TraversalMode#PARALLEL} listings,
+ *       {@link #count(PathQuery)} and {@link #processPaths(PathQuery, Function)}, which runs a parallel stream
+ *       pipeline of the results from a task of that pool, keep their work off the common pool.</li>
+ *   <li><b>Publishing</b>: {@link #publish(PathQuery, Executor)} emits the paths of {@code findPaths} to a
+ *       {@link Flow.Subscriber} through a {@link StreamPublisher}, which pulls one path per unit of requested demand
+ *       on the given executor and closes the walk on cancellation.</li>
  * </ul>
  */
 @Slf4j
@@ -64,19 +131,24 @@ public class GlobPathFinder {
     private static final String BASE_DIR_DOES_NOT_EXIST = "Base directory does not exist: ";
     private static final String BASE_PATH_NOT_A_DIRECTORY = "Base path is not a directory: ";
 
-    private static final int BATCH_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+    /**
+     * Batches of paths the producer thread of a {@code batchLatency} query queues ahead of the stream when
+     * {@code prefetchBatches} is not set.
+     */
+    private static final int PREFETCHED_BATCHES = 16;
 
     private static final BiPredicate<Path, BasicFileAttributes> MATCH_ALL_FILE_TYPES = (path, attrs) -> true;
 
     /**
      * Find paths according to the provided {@link PathQuery}.
      *
-     * <p>Per-entry streams from {@link java.nio.file.Files#find} are merged via {@code flatMap}
-     * and then wrapped in a {@link BatchingSpliterator} with a batch size of
-     * {@code availableProcessors() * 2}. Calling {@code .parallel()} on the result enables
+     * <p>Per-entry streams from {@link PathTreeWalker} are concatenated lazily, one walk at a time,
+     * and, unless {@code maxResults} is set, wrapped in a {@link BatchingSpliterator} whose batches grow from
+     * {@code batchSize} to {@code maxBatchSize}. Calling {@code .parallel()} on the result enables
      * true ForkJoinPool parallelism without collecting all paths into an intermediate collection.
      * Each batch is backed by an array-based spliterator that further splits down to individual
-     * elements, so work distributes across all available threads.</p>
+     * elements, so work distributes across all available threads. With {@code prefetchBatches}, the
+     * traversal runs on a background thread that queues paths for the stream through a bounded queue.</p>
      *
      * @param pathQuery configuration (base, include/exclude, extensions, depth, onlyFiles)
      * @return a stream of absolute, normalized and <b>unique</b> paths that satisfy the filters;
@@ -90,6 +162,189 @@ public class GlobPathFinder {
     @NonNull
     public static Stream<Path> findPaths(@NonNull PathQuery pathQuery) {
         log.debug("findPaths: starting with query {}", pathQuery);
+        return find(pathQuery, PATH_RESULT, Function.identity());
+    }
+
+    /**
+     * Find paths according to the provided {@link PathQuery}, each together with the attributes read for it during
+     * traversal.
+     *
+     * <p>Filters, deduplication, batching and error handling are exactly those of {@link #findPaths(PathQuery)}; the
+     * entries are that method's paths in the same order. The attributes are the ones the walker already read to
+     * apply {@code onlyFiles} and to decide whether to descend, so sizes and timestamps come without another file
+     * system call per path.</p>
+     *
+     * @param pathQuery configuration (base, include/exclude, extensions, depth, onlyFiles)
+     * @return a stream of entries with <b>unique</b> absolute, normalized paths that satisfy the filters;
+     *         the caller must close the returned stream to release underlying file handles
+     * @throws IllegalArgumentException if {@code baseDir} does not exist or is not a directory, regardless of the
+     *         {@code failFastOnError} flag
+     * @throws UncheckedIOException on IO errors during traversal
+     */
+    @NonNull
+    public static Stream<PathEntry> findEntries(@NonNull PathQuery pathQuery) {
+        log.debug("findEntries: starting with query {}", pathQuery);
+        return find(pathQuery, PathEntry::new, PathEntry::getPath);
+    }
+
+    /**
+     * Finds the first path that {@link #findPaths(PathQuery)} would return, reading no directory past it.
+     *
+     * <p>The query runs with {@link PathQuery#getMaxResults()} lowered to one and is consumed on the calling thread
+     * without batching, so the traversal stops and releases its file handles as soon as one path matches. With
+     * {@link TraversalMode#PARALLEL} the first path is whichever the concurrent listings find first, and listings
+     * already in flight are abandoned rather than awaited.</p>
+     *
+     * @param pathQuery configuration (base, include/exclude, extensions, depth, onlyFiles)
+     * @return the first matching path, or empty if no path matches
+     * @throws IllegalArgumentException if {@code baseDir} does not exist or is not a directory, regardless of the
+     *         {@code failFastOnError} flag
+     * @throws UncheckedIOException on IO errors during traversal
+     */
+    @NonNull
+    public static Optional<Path> findFirst(@NonNull PathQuery pathQuery) {
+        PathQuery firstOnly =
+                pathQuery.toBuilder().maxResults(Math.min(pathQuery.getMaxResults(), 1L)).build();
+        try (Stream<Path> paths = findPaths(firstOnly)) {
+            return paths.findFirst();
+        }
+    }
+
+    /**
+     * Tells whether any path matches the query, reading no directory past the first match.
+     *
+     * @param pathQuery configuration (base, include/exclude, extensions, depth, onlyFiles)
+     * @return {@code true} if {@link #findFirst(PathQuery)} finds a path
+     * @throws IllegalArgumentException if {@code baseDir} does not exist or is not a directory, regardless of the
+     *         {@code failFastOnError} flag
+     * @throws UncheckedIOException on IO errors during traversal
+     */
+    public static boolean exists(@NonNull PathQuery pathQuery) {
+        return findFirst(pathQuery).isPresent();
+    }
+
+    /**
+     * Counts the paths that {@link #findPaths(PathQuery)} would return, without building a stream of them.
+     *
+     * <p>Entries are matched inside the walker on their names and attributes, as for {@code findPaths}. When the walked
+     * bases are disjoint and {@code maxResults} is not set, each base is counted on its own, and a matched path is
+     * counted where it is found: no path is remembered for deduplication, batched or handed to a stream stage. The
+     * bases are counted in parallel on {@link PathQuery#getForkJoinPool()} if the query sets one; otherwise one after
+     * another on the calling thread, with the walker of {@link PathQuery#getTraversalMode()}, so that the blocking
+     * directory reads never occupy the common fork/join pool. Otherwise the count runs over the deduplicated, limited
+     * stream of {@code findPaths}.</p>
+     *
+     * @param pathQuery configuration (base, include/exclude, extensions, depth, onlyFiles)
+     * @return the number of <b>unique</b> paths that satisfy the filters, at most {@code maxResults}
+     * @throws IllegalArgumentException if {@code baseDir} does not exist or is not a directory, regardless of the
+     *         {@code failFastOnError} flag
+     * @throws UncheckedIOException on IO errors during traversal
+     */
+    public static long count(@NonNull PathQuery pathQuery) {
+        log.debug("count: starting with query {}", pathQuery);
+        WalkPlan walkPlan = planWalks(pathQuery);
+        Map<Path, Map<Path, AntStylePatternSet>> rootToIncludeBases = walkPlan.getRootToIncludeBases();
+        if (pathQuery.getMaxResults() != Long.MAX_VALUE || !findNestedRoots(rootToIncludeBases.keySet()).isEmpty()) {
+            // A limit or overlapping walks need the single deduplicated, limited stream.
+            try (Stream<Path> paths = concatenateWalks(walkPlan, pathQuery, PATH_RESULT, Function.identity())) {
+                return paths.count();
+            }
+        }
+        if (pathQuery.getForkJoinPool() == null) {
+            // Walks block on directory reads, so they stay off the common pool, as the walks of findPaths do.
+            return rootToIncludeBases.entrySet().stream()
+                    .mapToLong(baseEntry -> countBase(baseEntry, pathQuery, walkPlan))
+                    .sum();
+        }
+        return runOnPool(pathQuery, () -> rootToIncludeBases.entrySet().parallelStream()
+                .mapToLong(baseEntry -> countBase(baseEntry, pathQuery, walkPlan))
+                .sum());
+    }
+
+    /**
+     * Runs {@code action} on the parallel stream of paths that {@link #findPaths(PathQuery)} returns for the query,
+     * on the query's {@link PathQuery#getForkJoinPool()}, and closes the stream afterwards.
+     *
+     * <p>A parallel stream splits and processes its elements on the pool of the thread that calls its terminal
+     * operation, which is the common pool for any thread outside a fork/join pool. This method calls {@code action}
+     * from a task of the query's pool, so that the batches split off the traversal, and the work {@code action}
+     * does on them, run on that pool's workers and leave the common pool to other work. Without a pool in the query,
+     * {@code action} runs on the calling thread and the stream uses the common pool, as {@code findPaths} does.</p>
+     *
+     * @param pathQuery configuration (base, include/exclude, extensions, depth, onlyFiles, forkJoinPool)
+     * @param action    consumes the parallel stream, typically with one terminal operation; it must not keep the
+     *                  stream, which is closed when it returns
+     * @param <R>       the type of the result of {@code action}
+     * @return the result of {@code action}
+     * @throws IllegalArgumentException if {@code baseDir} does not exist or is not a directory, regardless of the
+     *         {@code failFastOnError} flag
+     * @throws UncheckedIOException on IO errors during traversal
+     */
+    public static <R> R processPaths(
+            @NonNull PathQuery pathQuery, @NonNull Function<? super Stream<Path>, ? extends R> action) {
+        return runOnPool(pathQuery, () -> {
+            try (Stream<Path> paths = findPaths(pathQuery)) {
+                return action.apply(paths.parallel());
+            }
+        });
+    }
+
+    /**
+     * Runs {@code computation} as a task of the query's fork/join pool and waits for its result, or on the calling
+     * thread if the query has no pool.
+     */
+    private static <R> R runOnPool(PathQuery pathQuery, Supplier<R> computation) {
+        ForkJoinPool forkJoinPool = pathQuery.getForkJoinPool();
+        return forkJoinPool == null ? computation.get() : forkJoinPool.submit(computation::get).join();
+    }
+
+    /**
+     * Publishes the paths that {@link #findPaths(PathQuery)} would return to {@link Flow.Subscriber}s, reading
+     * directories only as far as the subscribers request paths.
+     *
+     * <p>Every subscription runs the query on its own. The traversal starts on the first
+     * {@link Flow.Subscription#request(long)}, and each path is pulled from it for one unit of demand: with no
+     * outstanding demand no directory is read, so a slow subscriber holds no thread. With
+     * {@link TraversalMode#PARALLEL} the concurrent listings still run ahead by a few batches, as they do for
+     * {@code findPaths}; {@code prefetchBatches} and {@code batchLatency} are ignored, as they read ahead on a
+     * thread of their own. Walking and signalling run on {@code executor}, one task per subscription at a time, so
+     * requests and cancellation never block the caller. Cancellation closes the walk, releasing its file handles,
+     * before the next path would be read.</p>
+     *
+     * <p>Errors that {@code findPaths} throws, including an invalid {@code baseDir}, reach the subscriber through
+     * {@link Flow.Subscriber#onError(Throwable)}, after which the walk is closed.</p>
+     *
+     * @param pathQuery configuration (base, include/exclude, extensions, depth, onlyFiles)
+     * @param executor  runs the traversal and the signals of each subscription
+     * @return a publisher of absolute, normalized and <b>unique</b> paths that satisfy the filters
+     */
+    @NonNull
+    public static Flow.Publisher<Path> publish(@NonNull PathQuery pathQuery, @NonNull Executor executor) {
+        log.debug("publish: starting with query {}", pathQuery);
+        PathQuery onDemand = pathQuery.toBuilder().prefetchBatches(0).batchLatency(Duration.ZERO).build();
+        return new StreamPublisher<>(() -> findPaths(onDemand), executor);
+    }
+
+    /**
+     * Runs {@code pathQuery} and emits one result per found path.
+     *
+     * @param resultFactory builds the result of a found path from the path and its attributes
+     * @param resultPath    extracts the found path from a result, for deduplication and logging
+     */
+    @NonNull
+    private static <T> Stream<T> find(
+            PathQuery pathQuery, BiFunction<Path, BasicFileAttributes, T> resultFactory, Function<T, Path> resultPath) {
+        return concatenateWalks(planWalks(pathQuery), pathQuery, resultFactory, resultPath);
+    }
+
+    /**
+     * Validates the base directory of {@code pathQuery}, groups its includes into walk roots and compiles the
+     * filter of each walk. No directory below the base is read yet.
+     */
+    @NonNull
+    private static WalkPlan planWalks(PathQuery pathQuery) {
+        // The timeout of the query counts from here, the call that starts its traversal.
+        long startNanos = System.nanoTime();
 
         // 1) Normalize inputs, validate the base directory, and precompute matchers/sets.
         Path normalizedBaseDir = pathQuery.getBaseDir().toAbsolutePath().normalize();
@@ -99,49 +354,169 @@ public class GlobPathFinder {
         Map<Path, Set<PathMatcher>> baseToIncludeMatchers =
                 computeBaseToIncludeMatchers(normalizedBaseDir, pathQuery.getIncludeGlobs());
 
-        // ===== Build processing pipeline BEFORE any stream is created =====
-
-        // Extensions (case-insensitive); if empty, there will be NO extension step in the pipeline.
-        Set<String> normalizedExtensions = buildNormalizedExtensions(pathQuery);
-
-        // Excludes: split into absolute vs relative; if a set is empty, there will be NO respective step.
-        Pair<Set<PathMatcher>, Set<PathMatcher>> absoluteAndRelativeExcludeMatchers = compileExcludeMatchers(pathQuery);
-        Set<PathMatcher> absoluteExcludeMatchers = absoluteAndRelativeExcludeMatchers.getLeft();
-        Set<PathMatcher> relativeExcludeMatchers = absoluteAndRelativeExcludeMatchers.getRight();
+        // Compile each base's include matchers into one automaton, evaluated in a single pass per path.
+        Map<Path, AntStylePatternSet> baseToIncludePatterns = baseToIncludeMatchers.entrySet().stream()
+                .collect(Collectors.toMap(Entry::getKey, entry -> AntStylePatternSet.of(entry.getValue())));
+
+        // Fold bases nested in another base into the outer walk, so each subtree is listed once. Shielded mode keeps
+        // one walk per base: a shielded I/O error cuts the rest of its walk, which must not take other bases along.
+        Map<Path, Map<Path, AntStylePatternSet>> rootToIncludeBases = mergeNestedBases(
+                baseToIncludePatterns,
+                pathQuery.isFailFastOnError() ? GlobPathFinder::isWalkedThrough : (outer, inner) -> false);
+        if (log.isDebugEnabled() && rootToIncludeBases.size() < baseToIncludePatterns.size()) {
+            log.debug(
+                    "Walking {} include bases in {} subtrees",
+                    baseToIncludePatterns.size(),
+                    rootToIncludeBases.size());
+        }
 
-        BiPredicate<Path, BasicFileAttributes> fileTypeFilter = buildFileTypeFilter(pathQuery.isOnlyFiles());
+        // ===== Build the walk filter inputs BEFORE any stream is created =====
 
-        // 2) Compose global pipeline once (base-agnostic).
-        Function<Stream<Path>, Stream<Path>> globalPipeline =
-                buildGlobalPipeline(normalizedExtensions, absoluteExcludeMatchers);
+        // Extensions (case-insensitive); if empty, the walk filter skips the extension check.
+        Set<String> normalizedExtensions = buildNormalizedExtensions(pathQuery);
 
-        // 3) Compose per-base pipeline factory (adds relative-phase only when needed for that base).
-        Function<Entry<Path, Set<PathMatcher>>, Function<Stream<Path>, Stream<Path>>> perBasePipelineFactory =
-                buildPerBasePipelineFactory(relativeExcludeMatchers);
+        // Excludes: split into absolute vs relative; if a set is empty, the walk filter skips it.
+        Pair<AntStylePatternSet, AntStylePatternSet> absoluteAndRelativeExcludeMatchers =
+                compileExcludeMatchers(pathQuery);
+        AntStylePatternSet absoluteExcludeMatchers = absoluteAndRelativeExcludeMatchers.getLeft();
+        AntStylePatternSet relativeExcludeMatchers = absoluteAndRelativeExcludeMatchers.getRight();
+
+        // File type, size and modification time; checked on the attributes the walker reads for every entry anyway.
+        BiPredicate<Path, BasicFileAttributes> attributeFilter = buildAttributeFilter(pathQuery);
+
+        // 2) Compose per-walk filter factory. The whole query (attributes, extensions, includes and excludes) is one
+        // predicate evaluated inside the walker, so a rejected entry never reaches a stream stage. Patterns are
+        // matched on states carried from each directory to its entries, and prune directories no include can reach
+        // or whose whole subtree is excluded.
+        Function<Entry<Path, Map<Path, AntStylePatternSet>>, GlobWalkFilter> walkFilterFactory =
+                entry -> new GlobWalkFilter(
+                        entry.getKey(),
+                        entry.getValue(),
+                        relativeExcludeMatchers,
+                        absoluteExcludeMatchers,
+                        pathQuery.getMaxDepth(),
+                        attributeFilter,
+                        normalizedExtensions);
+        return new WalkPlan(rootToIncludeBases, walkFilterFactory, startNanos);
+    }
 
-        // 4) Build a streaming pipeline by merging per-entry streams via flatMap.
-        // Each entry in the map produces its own Files.find() stream via scanBaseDir().
-        // flatMap lazily opens and auto-closes inner streams as they are consumed,
-        // so file handles are released incrementally rather than held all at once.
+    /**
+     * Concatenates the walks of {@code walkPlan} into one stream with one result per found path.
+     *
+     * @param resultFactory builds the result of a found path from the path and its attributes
+     * @param resultPath    extracts the found path from a result, for deduplication and logging
+     */
+    @NonNull
+    private static <T> Stream<T> concatenateWalks(
+            WalkPlan walkPlan,
+            PathQuery pathQuery,
+            BiFunction<Path, BasicFileAttributes, T> resultFactory,
+            Function<T, Path> resultPath) {
+        Map<Path, Map<Path, AntStylePatternSet>> rootToIncludeBases = walkPlan.getRootToIncludeBases();
+
+        // 3) Build a streaming pipeline by concatenating the per-root walks.
+        // Each walk root in the plan produces its own PathTreeWalker stream via scanBaseDir().
+        // The concatenation opens a walk only when the previous one is exhausted and closes it right away,
+        // so file handles are released incrementally rather than held all at once. Unlike flatMap, it pulls
+        // each walk one result at a time, so a consumer that stops early stops the directory reads as well.
         // The BatchingSpliterator wraps the merged source and enables parallel splitting
         // by pulling small batches on demand — batch memory is O(batchSize), not O(totalPaths).
-        // Note: distinct() maintains an internal HashSet of O(uniquePaths) for deduplication,
-        // but paths flow through incrementally — no full path collection is created before processing.
-        // The configured batch size keeps the batch small enough to start parallel processing
-        // quickly — each thread gets work as soon as the first batches are ready — while still
-        // producing array-backed spliterators that the ForkJoinPool can recursively halve.
-        Stream<Path> merged = baseToIncludeMatchers.entrySet().stream()
-                .flatMap(entry -> scanBaseDir(entry, pathQuery, globalPipeline, perBasePipelineFactory, fileTypeFilter))
-                .distinct();
-
-        Spliterator<Path> batchSpliterator = new BatchingSpliterator<>(merged.spliterator(), BATCH_SIZE);
-        Stream<Path> resultPathStream =
-                StreamSupport.stream(batchSpliterator, false).onClose(merged::close);
+        // Deduplication is only needed where walk roots overlap; it then remembers only the paths
+        // inside the nested roots, and paths flow through incrementally — no full path collection is created.
+        // The first batches are small enough to start parallel processing quickly — each thread gets
+        // work as soon as they are ready — and later ones grow, so a long stream splits off fewer of
+        // the array-backed spliterators that the ForkJoinPool recursively halves.
+        Set<Path> nestedRoots = findNestedRoots(rootToIncludeBases.keySet());
+        Predicate<T> deduplicator =
+                nestedRoots.isEmpty() ? result -> true : buildOverlapDeduplicator(nestedRoots, resultPath);
+        // maxResults closes the running walk as soon as the last result is handed out, and opens no further walk.
+        Function<Entry<Path, Map<Path, AntStylePatternSet>>, Stream<T>> walkOpener =
+                entry -> scanBaseDir(entry, pathQuery, walkPlan, resultFactory);
+        int baseConcurrency = Math.min(pathQuery.getBaseConcurrency(), rootToIncludeBases.size());
+        ConcatenatingSpliterator<?, T> merged = baseConcurrency > 1
+                // The interleaved walks form a single source, so deduplication and the limit still run on the
+                // consumer's side, and the limit closes all running walks at once.
+                ? new ConcatenatingSpliterator<>(
+                        List.of(rootToIncludeBases.entrySet()).iterator(),
+                        roots -> interleaveWalks(roots, baseConcurrency, pathQuery, walkOpener),
+                        deduplicator,
+                        pathQuery.getMaxResults())
+                : new ConcatenatingSpliterator<>(
+                        rootToIncludeBases.entrySet().iterator(), walkOpener, deduplicator, pathQuery.getMaxResults());
+
+        Stream<T> resultStream;
+        if (pathQuery.getMaxResults() != Long.MAX_VALUE) {
+            // A limited query is not batched: a parallel split would read a whole batch ahead of the consumer.
+            resultStream = StreamSupport.stream(merged, false).onClose(merged::close);
+        } else if (pathQuery.getBatchLatency().isZero() && pathQuery.getPrefetchBatches() == 0) {
+            Spliterator<T> batched =
+                    new BatchingSpliterator<>(merged, pathQuery.getBatchSize(), pathQuery.getMaxBatchSize());
+            resultStream = StreamSupport.stream(batched, false).onClose(merged::close);
+        } else {
+            // The walk runs ahead on a producer thread through a bounded queue, so directory reads overlap with the
+            // consumer's work, and a split with a latency budget can hand out what arrived within it.
+            int queuedBatches =
+                    pathQuery.getPrefetchBatches() > 0 ? pathQuery.getPrefetchBatches() : PREFETCHED_BATCHES;
+            PrefetchingSpliterator<T> prefetched =
+                    new PrefetchingSpliterator<>(merged, merged::close, pathQuery.getBatchSize(), queuedBatches);
+            Spliterator<T> batched = pathQuery.getBatchLatency().isZero()
+                    ? new BatchingSpliterator<>(prefetched, pathQuery.getBatchSize(), pathQuery.getMaxBatchSize())
+                    : new BatchingSpliterator<>(
+                            prefetched,
+                            pathQuery.getBatchSize(),
+                            pathQuery.getMaxBatchSize(),
+                            TimeUnit.NANOSECONDS.convert(pathQuery.getBatchLatency()));
+            resultStream = StreamSupport.stream(batched, false).onClose(prefetched::close);
+        }
         if (log.isDebugEnabled()) {
             // DEBUG: final emission (after all filters)
-            resultPathStream = resultPathStream.peek(path -> log.debug("Emitting {}", path));
+            resultStream = resultStream.peek(result -> log.debug("Emitting {}", resultPath.apply(result)));
         }
-        return resultPathStream;
+        return resultStream;
+    }
+
+    /**
+     * Runs the walks of {@code roots} on up to {@code concurrency} workers at once, on the query's fork/join pool if
+     * set and on dedicated threads otherwise, and interleaves their results as they are found. Closing the stream
+     * stops the workers and closes the walks they hold.
+     */
+    @NonNull
+    private static <S, T> Stream<T> interleaveWalks(
+            Collection<S> roots, int concurrency, PathQuery pathQuery, Function<S, Stream<T>> walkOpener) {
+        ForkJoinPool forkJoinPool = pathQuery.getForkJoinPool();
+        InterleavingSpliterator<S, T> interleaved = forkJoinPool == null
+                ? new InterleavingSpliterator<>(roots.iterator(), walkOpener, concurrency, pathQuery.getBatchSize())
+                : new InterleavingSpliterator<>(
+                        roots.iterator(), walkOpener, concurrency, pathQuery.getBatchSize(), forkJoinPool);
+        return StreamSupport.stream(interleaved, false).onClose(interleaved::close);
+    }
+
+    /**
+     * Counts the paths of one walk root, closing its walk when done.
+     */
+    private static long countBase(
+            Entry<Path, Map<Path, AntStylePatternSet>> baseEntry, PathQuery pathQuery, WalkPlan walkPlan) {
+        try (Stream<Path> paths = scanBaseDir(baseEntry, pathQuery, walkPlan, PATH_RESULT)) {
+            return paths.count();
+        }
+    }
+
+    /**
+     * Deduplicates paths that several walks can emit. Walks of disjoint roots never emit the same path (a walk emits
+     * each path once, and {@link Path#equals} is lexical, so links cannot produce duplicates either); only paths
+     * inside a nested root can come from two walks, so only those are remembered.
+     *
+     * @param nestedRoots walk roots that lie inside another walk root
+     * @param resultPath  extracts the path of a result
+     * @return a stateful filter for one sequential stream that passes the first occurrence of each path
+     */
+    @NonNull
+    private static <T> Predicate<T> buildOverlapDeduplicator(Set<Path> nestedRoots, Function<T, Path> resultPath) {
+        Set<Path> seenInOverlap = new HashSet<>();
+        return result -> {
+            Path path = resultPath.apply(result);
+            return nestedRoots.stream().noneMatch(path::startsWith) || seenInOverlap.add(path);
+        };
     }
 
     /**
@@ -162,7 +537,7 @@ public class GlobPathFinder {
     }
 
     /**
-     * Files.find(...) predicate: either regular files only or pass-through. This is not a stream operator.
+     * Walker match predicate: either regular files only or pass-through. This is not a stream operator.
      */
     @NonNull
     private static BiPredicate<Path, BasicFileAttributes> buildFileTypeFilter(boolean onlyFiles) {
@@ -170,64 +545,29 @@ public class GlobPathFinder {
     }
 
     /**
-     * Extracts the file extension from the given path (the part after the last dot
-     * in the file name). Returns an empty string when there is no extension.
-     *
-     * @param path the path to extract the extension from
-     * @return the file extension without the leading dot, or an empty string
+     * Walker attribute predicate: the file type filter, plus size and modification time bounds only where the query
+     * sets them. Sizes bound regular files only. This is not a stream operator.
      */
     @NonNull
-    private static String findExtension(Path path) {
-        Path fileName = path.getFileName();
-        if (fileName == null) {
-            return "";
+    private static BiPredicate<Path, BasicFileAttributes> buildAttributeFilter(PathQuery pathQuery) {
+        BiPredicate<Path, BasicFileAttributes> attributeFilter = buildFileTypeFilter(pathQuery.isOnlyFiles());
+        long minSize = pathQuery.getMinSize();
+        long maxSize = pathQuery.getMaxSize();
+        if (minSize > 0 || maxSize < Long.MAX_VALUE) {
+            attributeFilter = attributeFilter.and((path, attrs) ->
+                    !attrs.isRegularFile() || (attrs.size() >= minSize && attrs.size() <= maxSize));
         }
-        String name = fileName.toString();
-        int dotIndex = name.lastIndexOf('.');
-        return dotIndex == -1 ? "" : name.substring(dotIndex + 1);
-    }
-
-    /**
-     * Compose the global (base-agnostic) pipeline that:
-     * - optionally logs raw discoveries,
-     * - optionally filters by extension,
-     * - optionally filters by absolute excludes.
-     */
-    @NonNull
-    private static Function<Stream<Path>, Stream<Path>> buildGlobalPipeline(
-            Set<String> normalizedExtensions, Set<PathMatcher> absoluteExcludeMatchers) {
-        // We compose steps only when they are needed. No "path -> true" fallbacks.
-        Function<Stream<Path>, Stream<Path>> globalPipeline = Function.identity();
-
-        // Debug peek on the raw discoveries
-        if (log.isTraceEnabled()) {
-            globalPipeline = globalPipeline.andThen(pathStream -> pathStream.peek(path -> log.trace("Found {}", path)));
+        if (!Instant.MIN.equals(pathQuery.getModifiedAfter())) {
+            FileTime modifiedAfter = FileTime.from(pathQuery.getModifiedAfter());
+            attributeFilter =
+                    attributeFilter.and((path, attrs) -> attrs.lastModifiedTime().compareTo(modifiedAfter) > 0);
         }
-
-        // Extensions filter
-        if (!normalizedExtensions.isEmpty()) {
-            globalPipeline = globalPipeline.andThen(pathStream -> pathStream.filter(path -> {
-                // Compute extension lazily only when this step exists.
-                String extension = findExtension(path).toLowerCase(Locale.ROOT);
-                return normalizedExtensions.contains(extension);
-            }));
-            if (log.isTraceEnabled()) {
-                globalPipeline = globalPipeline.andThen(
-                        pathStream -> pathStream.peek(path -> log.trace("Passed extension filter {}", path)));
-            }
+        if (!Instant.MAX.equals(pathQuery.getModifiedBefore())) {
+            FileTime modifiedBefore = FileTime.from(pathQuery.getModifiedBefore());
+            attributeFilter =
+                    attributeFilter.and((path, attrs) -> attrs.lastModifiedTime().compareTo(modifiedBefore) < 0);
         }
-
-        // Absolute excludes
-        if (!absoluteExcludeMatchers.isEmpty()) {
-            globalPipeline = globalPipeline.andThen(pathStream -> pathStream.filter(
-                    path -> absoluteExcludeMatchers.stream().noneMatch(matcher -> matcher.matches(path))));
-            if (log.isTraceEnabled()) {
-                globalPipeline = globalPipeline.andThen(
-                        pathStream -> pathStream.peek(path -> log.trace("Passed exclude absolute filter {}", path)));
-            }
-        }
-
-        return globalPipeline;
+        return attributeFilter;
     }
 
     /**
@@ -240,105 +580,82 @@ public class GlobPathFinder {
     }
 
     /**
-     * Factory that builds a per-base pipeline. It adds a “relative phase”
-     * (relativize → per-base include → relative excludes) only if needed for that specific base.
+     * Tells whether a walk rooted at {@code outer} reaches {@code inner} the same way a walk started at
+     * {@code inner} would: {@code outer} and every directory in between must be real directories rather than
+     * symbolic links (a walk without {@code followLinks} never enters a link), and {@code inner} must exist, so that
+     * a missing base still fails as its own walk does.
      */
-    @NonNull
-    private static Function<Entry<Path, Set<PathMatcher>>, Function<Stream<Path>, Stream<Path>>>
-            buildPerBasePipelineFactory(Set<PathMatcher> relativeExcludeMatchers) {
-        return entry -> {
-            Path basePath = entry.getKey();
-            Set<PathMatcher> includeMatchersForBase = entry.getValue();
-            boolean hasIncludesForBase = !includeMatchersForBase.isEmpty();
-            boolean hasRelativeExcludes = !relativeExcludeMatchers.isEmpty();
-
-            if (!hasIncludesForBase && !hasRelativeExcludes) {
-                return Function.identity();
+    private static boolean isWalkedThrough(Path outer, Path inner) {
+        for (Path directory = inner.getParent();
+                directory != null && directory.startsWith(outer);
+                directory = directory.getParent()) {
+            if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)) {
+                return false;
             }
-
-            // 1) relativize
-            Function<Stream<Path>, Stream<Path>> perBaseDirPipeline =
-                    pathStream -> pathStream.map(basePath::relativize);
-
-            // 2) include (only if present for this base)
-            if (hasIncludesForBase) {
-                perBaseDirPipeline = perBaseDirPipeline.andThen(pathStream -> pathStream.filter(
-                        relPath -> FileMatchingUtils.isMatchedToPatterns(relPath, includeMatchersForBase)));
-                if (log.isTraceEnabled()) {
-                    perBaseDirPipeline = perBaseDirPipeline.andThen(
-                            pathStream -> pathStream.peek(path -> log.trace("Passed include filter {}", path)));
-                }
-            }
-
-            // 3) relative excludes (only if configured at all)
-            if (hasRelativeExcludes) {
-                perBaseDirPipeline = perBaseDirPipeline.andThen(pathStream -> pathStream.filter(
-                        relPath -> relativeExcludeMatchers.stream().noneMatch(matcher -> matcher.matches(relPath))));
-                if (log.isTraceEnabled()) {
-                    perBaseDirPipeline = perBaseDirPipeline.andThen(pathStream ->
-                            pathStream.peek(path -> log.trace("Passed exclude relative filter {}", path)));
-                }
-            }
-
-            // 4) return to absolute path
-            perBaseDirPipeline = perBaseDirPipeline.andThen(pathStream -> pathStream.map(basePath::resolve));
-            return perBaseDirPipeline;
-        };
+        }
+        return Files.exists(inner, LinkOption.NOFOLLOW_LINKS);
     }
 
     /**
-     * Split excludes to absolute/relative and compile to Ant-style PathMatchers.
+     * Split excludes to absolute/relative and compile each group into one Ant-style pattern set.
      */
     @NonNull
-    private static Pair<Set<PathMatcher>, Set<PathMatcher>> compileExcludeMatchers(PathQuery pathQuery) {
+    private static Pair<AntStylePatternSet, AntStylePatternSet> compileExcludeMatchers(PathQuery pathQuery) {
         Pair<List<String>, List<String>> absoluteAndRelativeExcludes =
                 partitionAbsoluteAndRelative(pathQuery.getExcludeGlobs());
 
-        // Compile exclude globs to PathMatcher and evaluate against ABSOLUTE paths.
+        // Compile exclude globs to one pattern set and evaluate against ABSOLUTE paths.
         Set<PathMatcher> absoluteExcludeMatchers =
                 processNormalizedStrings(absoluteAndRelativeExcludes.getLeft(), AntStylePathMatcher::compile);
 
-        // Compile exclude globs to PathMatcher and evaluate against RELATIVE paths.
+        // Compile exclude globs to one pattern set and evaluate against RELATIVE paths.
         Set<PathMatcher> relativeExcludeMatchers =
                 processNormalizedStrings(absoluteAndRelativeExcludes.getRight(), AntStylePathMatcher::compile);
 
-        return Pair.of(absoluteExcludeMatchers, relativeExcludeMatchers);
+        return Pair.of(AntStylePatternSet.of(absoluteExcludeMatchers), AntStylePatternSet.of(relativeExcludeMatchers));
     }
 
     /**
      * Base scan that:
      * <ul>
-     *   <li>starts {@code Files.find(...)} with configured depth and options,</li>
+     *   <li>resolves a root that is a single match-all base and not a directory, i.e. a literal file include, with
+     *       one attribute read instead of a walk,</li>
+     *   <li>otherwise starts the walker selected by {@code traversalMode} with the walk's {@link GlobWalkFilter}, its
+     *       depth bound and the configured link handling,</li>
      *   <li><b>conditionally</b> wraps with {@code IoTolerantPathStream}:
      *       shielded (log+swallow) when {@code failFastOnError == false};
      *       pass-through (rethrow) when {@code failFastOnError == true},</li>
-     *   <li>applies global + per-base pipelines,</li>
      *   <li>ensures the inner stream is closed when the resulting stream is closed.</li>
      * </ul>
      */
     @NonNull
-    private static Stream<Path> scanBaseDir(
-            Entry<Path, Set<PathMatcher>> baseEntry,
+    private static <T> Stream<T> scanBaseDir(
+            Entry<Path, Map<Path, AntStylePatternSet>> baseEntry,
             PathQuery pathQuery,
-            Function<Stream<Path>, Stream<Path>> globalPipeline,
-            Function<Entry<Path, Set<PathMatcher>>, Function<Stream<Path>, Stream<Path>>> perBasePipelineFactory,
-            BiPredicate<Path, BasicFileAttributes> fileTypeFilter) {
+            WalkPlan walkPlan,
+            BiFunction<Path, BasicFileAttributes, T> resultFactory) {
         Path basePath = baseEntry.getKey();
         try {
-            Stream<Path> foundPaths = Files.find(
+            GlobWalkFilter walkFilter = walkPlan.getWalkFilterFactory().apply(baseEntry);
+            if (isMatchAllBase(baseEntry)) {
+                // A literal include such as 'pom.xml' names a single file: one attribute read, no walker.
+                BasicFileAttributes baseAttributes = readAttributes(basePath, pathQuery.isFollowLinks());
+                if (!baseAttributes.isDirectory()) {
+                    return walkFilter.isMatched(walkFilter.startState(basePath), basePath, baseAttributes)
+                            ? Stream.of(resultFactory.apply(basePath, baseAttributes))
+                            : Stream.empty();
+                }
+            }
+            Stream<T> foundPaths = walkBaseDir(
                     basePath,
-                    pathQuery.getMaxDepth(),
-                    fileTypeFilter,
-                    pathQuery.getVisitOptions().toArray(new FileVisitOption[0]));
+                    walkFilter.getWalkDepth(),
+                    pathQuery,
+                    stopOnCancellation(walkFilter, pathQuery, walkPlan.getStartNanos()),
+                    resultFactory);
 
             // If fail-fast is enabled, do NOT shield: let UncheckedIOException bubble up.
             // Otherwise wrap to log+swallow and cut only the current branch.
-            Stream<Path> shieldedPaths =
-                    pathQuery.isFailFastOnError() ? foundPaths : IoTolerantPathStream.wrap(foundPaths, basePath);
-
-            Function<Stream<Path>, Stream<Path>> perBasePipeline = perBasePipelineFactory.apply(baseEntry);
-
-            return perBasePipeline.apply(globalPipeline.apply(shieldedPaths)).onClose(shieldedPaths::close);
+            return pathQuery.isFailFastOnError() ? foundPaths : IoTolerantPathStream.wrap(foundPaths, basePath);
         } catch (IOException startFailure) {
             // Early failure when creating the stream (not during iteration).
             if (pathQuery.isFailFastOnError()) {
@@ -348,4 +665,80 @@ public class GlobPathFinder {
             return Stream.empty();
         }
     }
+
+    /**
+     * Wraps the filter of a walk so that the walk stops before its next directory read once the query's
+     * {@link PathQuery#getCancellationToken()} is cancelled or its {@link PathQuery#getTimeout()} has passed since
+     * {@code startNanos}; returns {@code walkFilter} itself if the query sets neither.
+     */
+    @NonNull
+    private static <S> TreeWalkFilter<S> stopOnCancellation(
+            TreeWalkFilter<S> walkFilter, PathQuery pathQuery, long startNanos) {
+        CancellationToken cancellationToken = pathQuery.getCancellationToken();
+        long timeoutNanos = TimeUnit.NANOSECONDS.convert(pathQuery.getTimeout());
+        return cancellationToken == null && timeoutNanos == 0
+                ? walkFilter
+                : new CancellableWalkFilter<>(walkFilter, cancellationToken, startNanos, timeoutNanos);
+    }
+
+    /**
+     * Tells whether a walk root is its only base and matches everything below it, as a literal include does.
+     */
+    private static boolean isMatchAllBase(Entry<Path, Map<Path, AntStylePatternSet>> baseEntry) {
+        Map<Path, AntStylePatternSet> includeBases = baseEntry.getValue();
+        AntStylePatternSet rootPatterns = includeBases.get(baseEntry.getKey());
+        return includeBases.size() == 1 && rootPatterns != null && rootPatterns.isEmpty();
+    }
+
+    /**
+     * Starts the walker selected by {@link PathQuery#getTraversalMode()} for one base. {@link TraversalMode#PARALLEL}
+     * uses {@link ParallelTreeWalker} on the query's {@link PathQuery#getForkJoinPool()} if set, otherwise
+     * {@link VirtualThreadTreeWalker} on Java 21+ and {@link ParallelTreeWalker} on a pool of its own.
+     */
+    @NonNull
+    private static <T> Stream<T> walkBaseDir(
+            Path basePath,
+            int maxDepth,
+            PathQuery pathQuery,
+            TreeWalkFilter<GlobWalkFilter.State> walkFilter,
+            BiFunction<Path, BasicFileAttributes, T> resultFactory)
+            throws IOException {
+        if (pathQuery.getTraversalMode() == TraversalMode.SEQUENTIAL) {
+            return PathTreeWalker.find(basePath, maxDepth, walkFilter, pathQuery.isFollowLinks(), resultFactory);
+        }
+        ForkJoinPool forkJoinPool = pathQuery.getForkJoinPool();
+        if (forkJoinPool != null) {
+            return ParallelTreeWalker.find(
+                    basePath, maxDepth, walkFilter, pathQuery.isFollowLinks(), forkJoinPool, resultFactory);
+        }
+        if (VirtualThreadTreeWalker.isAvailable()) {
+            return VirtualThreadTreeWalker.find(
+                    basePath,
+                    maxDepth,
+                    walkFilter,
+                    pathQuery.isFollowLinks(),
+                    pathQuery.getTraversalParallelism(),
+                    resultFactory);
+        }
+        return ParallelTreeWalker.find(
+                basePath,
+                maxDepth,
+                walkFilter,
+                pathQuery.isFollowLinks(),
+                pathQuery.getTraversalParallelism(),
+                resultFactory);
+    }
+
+    /**
+     * The walks of one query: each walk root with the include bases folded into it, the filter of each walk, and the
+     * {@link System#nanoTime()} the query's timeout counts from.
+     */
+    @Value
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class WalkPlan {
+
+        Map<Path, Map<Path, AntStylePatternSet>> rootToIncludeBases;
+        Function<Entry<Path, Map<Path, AntStylePatternSet>>, GlobWalkFilter> walkFilterFactory;
+        long startNanos;
+    }
 }
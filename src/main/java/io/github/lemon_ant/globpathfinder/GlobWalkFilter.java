@@ -0,0 +1,339 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@link TreeWalkFilter} of one {@link GlobPathFinder} walk: the whole {@link PathQuery} filter as one walker
+ * predicate. It checks the attributes (file type, size, modification time) and extension, the include patterns of
+ * every base walked under the walk root, the relative excludes against each of those bases and the absolute
+ * excludes, with the same results as matching each entry's relative and absolute path from scratch. A rejected
+ * entry costs no {@link Path} or string beyond the ones the directory listing already created.
+ *
+ * <p>Instead, every entry carries the live {@link AntStylePatternSet} states of its path, derived from its
+ * directory's states by consuming the entry's own name only. An entry at depth 12 thus costs one segment step per
+ * pattern set, not twelve. The same states drive pruning: a base stops being tracked below a directory once its
+ * includes cannot match deeper, a relative exclude covers the whole subtree, or its depth limit is reached;
+ * a directory is listed while it leads to a base not yet reached or some tracked base may still match below it.</p>
+ *
+ * <p>Where every tracked pattern expects a literal name next, the filter names the candidate entries so that the
+ * walker looks them up instead of listing the directory: {@code *}{@code /pom.xml} lists the walk root once and
+ * then reads one attribute per subdirectory.</p>
+ *
+ * <p>All pattern sets must be compiled from {@link AntStylePathMatcher}s, which is how {@link GlobPathFinder}
+ * builds them.</p>
+ */
+@Slf4j
+final class GlobWalkFilter implements TreeWalkFilter<GlobWalkFilter.State> {
+
+    /**
+     * Include states of a base with match-all includes; such a base is tracked but never advanced.
+     */
+    private static final long[] MATCH_ALL_STATES = new long[0];
+
+    private static final char MAX_ASCII = 0x7f;
+
+    /**
+     * Most entries looked up by name instead of listing their directory. Each lookup is a system call of its own, so
+     * beyond a few names one listing is cheaper.
+     */
+    static final int MAX_CANDIDATE_NAMES = 16;
+
+    private final AntStylePatternSet absoluteExcludePatterns;
+    private final Set<String> allowedExtensions;
+    private final int[] baseDepths;
+    private final int[] baseMaxDepths;
+    private final Path[] basePaths;
+    private final BiPredicate<Path, BasicFileAttributes> attributeFilter;
+    private final AntStylePatternSet[] includePatterns;
+    private final AntStylePatternSet relativeExcludePatterns;
+
+    /**
+     * Creates the filter of the walk rooted at {@code root}.
+     *
+     * @param root                    the walk root; also one of the bases
+     * @param includeBases            the bases walked under {@code root} with their include patterns; an empty set
+     *                                means "match all" under that base
+     * @param relativeExcludePatterns excludes evaluated against paths relative to each base
+     * @param absoluteExcludePatterns excludes evaluated against absolute paths
+     * @param maxDepth                the maximum depth of results below each base; a base whose includes cannot
+     *                                match as deep is bounded by its includes instead
+     * @param attributeFilter         the attribute-based part of the match decision: file type, size and time
+     * @param allowedExtensions       lower-cased extensions (without the dot) a result must have; empty allows all
+     */
+    GlobWalkFilter(
+            @NonNull Path root,
+            @NonNull Map<Path, AntStylePatternSet> includeBases,
+            @NonNull AntStylePatternSet relativeExcludePatterns,
+            @NonNull AntStylePatternSet absoluteExcludePatterns,
+            int maxDepth,
+            @NonNull BiPredicate<Path, BasicFileAttributes> attributeFilter,
+            @NonNull Set<String> allowedExtensions) {
+        this.relativeExcludePatterns = relativeExcludePatterns;
+        this.absoluteExcludePatterns = absoluteExcludePatterns;
+        this.attributeFilter = attributeFilter;
+        this.allowedExtensions = allowedExtensions;
+        this.basePaths = new Path[includeBases.size()];
+        this.baseDepths = new int[includeBases.size()];
+        this.baseMaxDepths = new int[includeBases.size()];
+        this.includePatterns = new AntStylePatternSet[includeBases.size()];
+        int base = 0;
+        for (Entry<Path, AntStylePatternSet> includeBase : includeBases.entrySet()) {
+            basePaths[base] = includeBase.getKey();
+            baseDepths[base] = includeBase.getKey().getNameCount() - root.getNameCount();
+            includePatterns[base] = includeBase.getValue();
+            baseMaxDepths[base] = includePatterns[base].isEmpty()
+                    ? maxDepth
+                    : Math.min(maxDepth, includePatterns[base].getMaxMatchDepth());
+            base++;
+        }
+    }
+
+    /**
+     * Returns the depth below the walk root that the walk must reach: the deepest base plus its depth limit,
+     * saturating at {@link Integer#MAX_VALUE}. Includes without {@code **}, such as {@code *}{@code /pom.xml}, bound
+     * the walk to their own length even when {@code maxDepth} is unlimited.
+     *
+     * @return the maximum depth for the walker
+     */
+    int getWalkDepth() {
+        long walkDepth = 0;
+        for (int base = 0; base < basePaths.length; base++) {
+            walkDepth = Math.max(walkDepth, (long) baseDepths[base] + baseMaxDepths[base]);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, walkDepth);
+    }
+
+    @Override
+    public State startState(Path start) {
+        String startPath = start.toString();
+        long[] absoluteExcludeStates = absoluteExcludePatterns.isEmpty()
+                ? null
+                : absoluteExcludePatterns.advance(absoluteExcludePatterns.initialStates(), startPath, 0);
+        long[][] includeStates = new long[basePaths.length][];
+        long[][] relativeExcludeStates = new long[basePaths.length][];
+        for (int base = 0; base < basePaths.length; base++) {
+            if (baseDepths[base] == 0) {
+                enterBase(base, includeStates, relativeExcludeStates);
+            }
+        }
+        Path startName = start.getFileName();
+        int nameStart = startName == null ? startPath.length() : startPath.length() - startName.toString().length();
+        return new State(
+                0, nameStart, startPath.length(), absoluteExcludeStates, includeStates, relativeExcludeStates);
+    }
+
+    @Override
+    public State childState(State directoryState, Path child) {
+        String childPath = child.toString();
+        int nameStart = directoryState.pathLength;
+        int depth = directoryState.depth + 1;
+        long[] absoluteExcludeStates = directoryState.absoluteExcludeStates == null
+                ? null
+                : absoluteExcludePatterns.advance(directoryState.absoluteExcludeStates, childPath, nameStart);
+        long[][] includeStates = new long[basePaths.length][];
+        long[][] relativeExcludeStates = new long[basePaths.length][];
+        for (int base = 0; base < basePaths.length; base++) {
+            if (isTrackedBelow(directoryState, base, depth)) {
+                long[] directoryIncludeStates = directoryState.includeStates[base];
+                includeStates[base] = directoryIncludeStates == MATCH_ALL_STATES
+                        ? MATCH_ALL_STATES
+                        : includePatterns[base].advance(directoryIncludeStates, childPath, nameStart);
+                if (!relativeExcludePatterns.isEmpty()) {
+                    relativeExcludeStates[base] = relativeExcludePatterns.advance(
+                            directoryState.relativeExcludeStates[base], childPath, nameStart);
+                }
+            } else if (baseDepths[base] == depth && child.equals(basePaths[base])) {
+                enterBase(base, includeStates, relativeExcludeStates);
+            }
+        }
+        return new State(
+                depth, nameStart, childPath.length(), absoluteExcludeStates, includeStates, relativeExcludeStates);
+    }
+
+    @Override
+    public boolean isMatched(State state, Path path, BasicFileAttributes attributes) {
+        if (!attributeFilter.test(path, attributes)) {
+            return false;
+        }
+        if (!allowedExtensions.isEmpty() && !hasAllowedExtension(path.toString(), state.nameStart)) {
+            if (log.isTraceEnabled()) {
+                log.trace("Rejected by extension {}", path);
+            }
+            return false;
+        }
+        if (state.absoluteExcludeStates != null && absoluteExcludePatterns.accepts(state.absoluteExcludeStates)) {
+            return false;
+        }
+        for (int base = 0; base < basePaths.length; base++) {
+            long[] baseIncludeStates = state.includeStates[base];
+            if (baseIncludeStates != null
+                    && (baseIncludeStates == MATCH_ALL_STATES || includePatterns[base].accepts(baseIncludeStates))
+                    && (relativeExcludePatterns.isEmpty()
+                            || !relativeExcludePatterns.accepts(state.relativeExcludeStates[base]))) {
+                return true;
+            }
+        }
+        if (log.isTraceEnabled()) {
+            log.trace("Rejected by include or exclude patterns {}", path);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isDescended(State state, Path directory, BasicFileAttributes attributes) {
+        if (state.absoluteExcludeStates != null
+                && absoluteExcludePatterns.matchesAllDescendants(state.absoluteExcludeStates)) {
+            if (log.isTraceEnabled()) {
+                log.trace("Pruned excluded subtree {}", directory);
+            }
+            return false;
+        }
+        for (int base = 0; base < basePaths.length; base++) {
+            if (baseDepths[base] > state.depth && basePaths[base].startsWith(directory)) {
+                return true;
+            }
+            if (isTrackedBelow(state, base, state.depth + 1)) {
+                return true;
+            }
+        }
+        if (log.isTraceEnabled()) {
+            log.trace("Pruned subtree unreachable by includes or excluded {}", directory);
+        }
+        return false;
+    }
+
+    /**
+     * Names the entries of {@code directory} that can still matter when every tracked base expects a literal name
+     * next, such as {@code pom.xml} after {@code *}{@code /}: the walker then looks them up instead of listing the
+     * directory. Up to {@value #MAX_CANDIDATE_NAMES} names are looked up; a directory needing more is listed.
+     */
+    @Override
+    @Nullable
+    public Collection<String> findCandidateNames(State state, Path directory) {
+        Set<String> names = new HashSet<>();
+        int childDepth = state.depth + 1;
+        for (int base = 0; base < basePaths.length; base++) {
+            if (baseDepths[base] > state.depth && basePaths[base].startsWith(directory)) {
+                names.add(basePaths[base].getName(directory.getNameCount()).toString());
+            } else if (isTrackedBelow(state, base, childDepth)) {
+                long[] baseIncludeStates = state.includeStates[base];
+                if (baseIncludeStates == MATCH_ALL_STATES
+                        || !includePatterns[base].collectNextLiterals(baseIncludeStates, names)) {
+                    return null;
+                }
+            }
+            if (names.size() > MAX_CANDIDATE_NAMES) {
+                return null;
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Tells whether entries at {@code childDepth} below the directory with {@code directoryState} can still be
+     * results of {@code base}.
+     */
+    private boolean isTrackedBelow(State directoryState, int base, int childDepth) {
+        long[] baseIncludeStates = directoryState.includeStates[base];
+        if (baseIncludeStates == null || childDepth - baseDepths[base] > baseMaxDepths[base]) {
+            return false;
+        }
+        if (baseIncludeStates != MATCH_ALL_STATES && !includePatterns[base].mayMatchDescendants(baseIncludeStates)) {
+            return false;
+        }
+        return relativeExcludePatterns.isEmpty()
+                || !relativeExcludePatterns.matchesAllDescendants(directoryState.relativeExcludeStates[base]);
+    }
+
+    /**
+     * Checks the extension of the file name starting at or after {@code nameStart} in {@code path}, case-insensitively
+     * as {@link String#toLowerCase(Locale)} with {@link Locale#ROOT}, without extracting it for ASCII names.
+     */
+    private boolean hasAllowedExtension(String path, int nameStart) {
+        int extensionStart = path.lastIndexOf('.') + 1;
+        if (extensionStart <= nameStart) {
+            return false;
+        }
+        for (int index = extensionStart; index < path.length(); index++) {
+            if (path.charAt(index) > MAX_ASCII) {
+                return allowedExtensions.contains(path.substring(extensionStart).toLowerCase(Locale.ROOT));
+            }
+        }
+        for (String extension : allowedExtensions) {
+            if (isAsciiLowerCaseOf(path, extensionStart, extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAsciiLowerCaseOf(String path, int start, String lowerCase) {
+        if (path.length() - start != lowerCase.length()) {
+            return false;
+        }
+        for (int index = 0; index < lowerCase.length(); index++) {
+            char character = path.charAt(start + index);
+            if (character >= 'A' && character <= 'Z') {
+                character = (char) (character + ('a' - 'A'));
+            }
+            if (character != lowerCase.charAt(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void enterBase(int base, long[][] includeStates, long[][] relativeExcludeStates) {
+        includeStates[base] =
+                includePatterns[base].isEmpty() ? MATCH_ALL_STATES : includePatterns[base].initialStates();
+        if (!relativeExcludePatterns.isEmpty()) {
+            relativeExcludeStates[base] = relativeExcludePatterns.initialStates();
+        }
+    }
+
+    /**
+     * Match state of one entry: its depth below the walk root, where its name starts in its path string, the length
+     * of that string (where a child's name starts) and the live states of every pattern set. Include states are
+     * {@code null} for bases that do not track the entry.
+     */
+    static final class State {
+
+        private final long @Nullable [] absoluteExcludeStates;
+        private final int depth;
+        private final long[] @Nullable [] includeStates;
+        private final int nameStart;
+        private final int pathLength;
+        private final long[] @Nullable [] relativeExcludeStates;
+
+        private State(
+                int depth,
+                int nameStart,
+                int pathLength,
+                long @Nullable [] absoluteExcludeStates,
+                long[] @Nullable [] includeStates,
+                long[] @Nullable [] relativeExcludeStates) {
+            this.depth = depth;
+            this.nameStart = nameStart;
+            this.pathLength = pathLength;
+            this.absoluteExcludeStates = absoluteExcludeStates;
+            this.includeStates = includeStates;
+            this.relativeExcludeStates = relativeExcludeStates;
+        }
+    }
+}
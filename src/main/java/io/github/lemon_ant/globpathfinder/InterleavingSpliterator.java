@@ -0,0 +1,243 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Drains the streams opened for a sequence of sources on up to {@code concurrency} workers at once, and interleaves
+ * their elements into one non-splitting spliterator through a bounded {@link PathBatchHandoff}.
+ *
+ * <p>The workers start on the first consumer call. Each one takes the next source, opens its stream, pulls it to the
+ * end, closes it and takes the next, so at most {@code concurrency} streams are open at a time, and each is opened
+ * and closed exactly as a sequential concatenation would. A worker hands its elements over in batches of
+ * {@code batchSize}, or at once while the consumer has nothing queued, and pauses while the queue is full
+ * (backpressure). Elements of one source keep their order; elements of different sources interleave as they are
+ * found.</p>
+ *
+ * <p>The first failure of a source stops all workers and is rethrown to the consumer after the batches queued before
+ * it, as with {@link ParallelTreeWalker}, and so is a rejection of a worker task by the executor. {@link #close()}
+ * stops the workers and returns once each has closed its stream.</p>
+ *
+ * @param <S> the source type
+ * @param <T> the element type
+ */
+@SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.DoNotUseThreads"})
+final class InterleavingSpliterator<S, T> implements Spliterator<T> {
+
+    /**
+     * Batches buffered per worker before the workers pause for the consumer.
+     */
+    private static final int QUEUED_BATCHES_PER_WORKER = 4;
+
+    private final int batchSize;
+    private final int concurrency;
+    private final Executor executor;
+    private final PathBatchHandoff<T> handoff;
+    private final Function<? super S, Stream<T>> opener;
+    private final Iterator<? extends S> sources;
+    private final AtomicInteger runningWorkers = new AtomicInteger();
+    private final CountDownLatch workersDone;
+
+    private boolean closed;
+    private boolean started;
+
+    /**
+     * Creates the interleaving of the streams opened for {@code sources}, drained on dedicated daemon threads.
+     *
+     * @param sources     the sources; taken in iteration order by whichever worker is free
+     * @param opener      opens the stream of one source, on a worker
+     * @param concurrency the maximum number of streams drained at once; must be positive
+     * @param batchSize   the largest number of elements a worker hands over at once; must be positive
+     */
+    InterleavingSpliterator(
+            @NonNull Iterator<? extends S> sources,
+            @NonNull Function<? super S, Stream<T>> opener,
+            int concurrency,
+            int batchSize) {
+        this(sources, opener, concurrency, batchSize, InterleavingSpliterator::startDaemonThread);
+    }
+
+    /**
+     * Creates the interleaving of the streams opened for {@code sources}, drained by tasks of {@code executor}.
+     *
+     * @param sources     the sources; taken in iteration order by whichever worker is free
+     * @param opener      opens the stream of one source, on a worker
+     * @param concurrency the maximum number of streams drained at once; must be positive
+     * @param batchSize   the largest number of elements a worker hands over at once; must be positive
+     * @param executor    runs the {@code concurrency} worker tasks; a task that starts late takes the sources the
+     *                    others have not taken yet
+     */
+    InterleavingSpliterator(
+            @NonNull Iterator<? extends S> sources,
+            @NonNull Function<? super S, Stream<T>> opener,
+            int concurrency,
+            int batchSize,
+            @NonNull Executor executor) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.sources = sources;
+        this.opener = opener;
+        this.concurrency = concurrency;
+        this.batchSize = batchSize;
+        this.executor = executor;
+        this.handoff = new PathBatchHandoff<>(concurrency * QUEUED_BATCHES_PER_WORKER);
+        this.workersDone = new CountDownLatch(concurrency);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (closed) {
+            return false;
+        }
+        startWorkers();
+        return handoff.tryAdvance(action);
+    }
+
+    @Override
+    @Nullable
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.NONNULL;
+    }
+
+    /**
+     * Stops the workers: queued elements are dropped, and the call returns once every worker has finished the pull
+     * in progress and closed its stream. Further pulls find no elements.
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        handoff.cancel();
+        if (!started) {
+            return;
+        }
+        try {
+            ForkJoinPool.managedBlock(new WorkersDoneBlocker());
+        } catch (InterruptedException interrupted) {
+            // Each worker still closes its stream once its pull returns; only the wait for them is cut short.
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void startWorkers() {
+        if (started) {
+            return;
+        }
+        started = true;
+        runningWorkers.set(concurrency);
+        for (int worker = 0; worker < concurrency; worker++) {
+            try {
+                executor.execute(this::work);
+            } catch (RejectedExecutionException rejected) {
+                // The workers already started stop at their next source; the ones never started count as done.
+                handoff.fail(rejected);
+                for (int unstarted = worker; unstarted < concurrency; unstarted++) {
+                    workersDone.countDown();
+                }
+                return;
+            }
+        }
+    }
+
+    private void work() {
+        try {
+            for (S source = nextSource(); source != null; source = nextSource()) {
+                drain(source);
+            }
+            if (runningWorkers.decrementAndGet() == 0) {
+                handoff.complete();
+            }
+        } catch (RuntimeException | Error failure) {
+            handoff.fail(failure);
+        } finally {
+            workersDone.countDown();
+        }
+    }
+
+    /**
+     * Takes the next source, or {@code null} once there is none left or the consumer is gone.
+     */
+    @Nullable
+    private S nextSource() {
+        synchronized (sources) {
+            return handoff.isActive() && sources.hasNext() ? sources.next() : null;
+        }
+    }
+
+    private void drain(S source) {
+        List<T> batch = new ArrayList<>(batchSize);
+        try (Stream<T> stream = opener.apply(source)) {
+            Spliterator<T> elements = stream.spliterator();
+            boolean pulled = true;
+            while (pulled && handoff.isActive()) {
+                pulled = elements.tryAdvance(batch::add);
+                // Hand over early while the consumer waits, so a slow read that follows does not hold back the
+                // elements already pulled.
+                if (batch.size() >= batchSize || (!batch.isEmpty() && handoff.isDrained())) {
+                    handoff.publish(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        } finally {
+            // Elements pulled before the stream ran out or failed still reach the consumer ahead of the failure.
+            handoff.publish(batch);
+        }
+    }
+
+    private static void startDaemonThread(Runnable task) {
+        Thread thread = new Thread(task, "glob-path-finder-base");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Waits for the workers to finish as a {@link ForkJoinPool.ManagedBlocker}, so that closing on a fork/join worker
+     * lets the pool run the worker tasks it waits for on a spare thread, even when they share that pool; other
+     * threads simply block.
+     */
+    private final class WorkersDoneBlocker implements ForkJoinPool.ManagedBlocker {
+
+        @Override
+        public boolean block() throws InterruptedException {
+            workersDone.await();
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return workersDone.getCount() == 0;
+        }
+    }
+}
@@ -61,13 +61,14 @@ class IoTolerantPathStream {
      *
      * @param sourceStream original stream (e.g., from {@link java.nio.file.Files#find})
      * @param basePath     context for logging; typically the scanned base directory
+     * @param <T>          the element type, a path or a walk result carrying one
      * @return a shielded stream that logs and suppresses late {@code UncheckedIOException}
      */
     @NonNull
-    static Stream<Path> wrap(@NonNull Stream<Path> sourceStream, @NonNull Path basePath) {
+    static <T> Stream<T> wrap(@NonNull Stream<T> sourceStream, @NonNull Path basePath) {
         boolean isParallel = sourceStream.isParallel();
-        Spliterator<Path> sourceSpliterator = sourceStream.spliterator();
-        Spliterator<Path> shielded = createIoTolerantSpliterator(sourceSpliterator, basePath);
+        Spliterator<T> sourceSpliterator = sourceStream.spliterator();
+        Spliterator<T> shielded = createIoTolerantSpliterator(sourceSpliterator, basePath);
 
         return StreamSupport.stream(shielded, isParallel).onClose(sourceStream::close);
     }
@@ -88,7 +89,7 @@ class IoTolerantPathStream {
      * @return shielding spliterator
      */
     @NonNull
-    private static Spliterator<Path> createIoTolerantSpliterator(Spliterator<Path> source, Path basePath) {
+    private static <T> Spliterator<T> createIoTolerantSpliterator(Spliterator<T> source, Path basePath) {
         return new Spliterator<>() {
             @Override
             public int characteristics() {
@@ -101,7 +102,7 @@ class IoTolerantPathStream {
             }
 
             @Override
-            public void forEachRemaining(Consumer<? super Path> action) {
+            public void forEachRemaining(Consumer<? super T> action) {
                 try {
                     source.forEachRemaining(action);
                 } catch (UncheckedIOException ioe) {
@@ -115,7 +116,7 @@ class IoTolerantPathStream {
             }
 
             @Override
-            public boolean tryAdvance(Consumer<? super Path> action) {
+            public boolean tryAdvance(Consumer<? super T> action) {
                 try {
                     return source.tryAdvance(action);
                 } catch (UncheckedIOException ioe) {
@@ -129,8 +130,8 @@ class IoTolerantPathStream {
             }
 
             @Override
-            public Spliterator<Path> trySplit() {
-                Spliterator<Path> split = source.trySplit();
+            public Spliterator<T> trySplit() {
+                Spliterator<T> split = source.trySplit();
                 return (split == null) ? null : createIoTolerantSpliterator(split, basePath);
             }
         };
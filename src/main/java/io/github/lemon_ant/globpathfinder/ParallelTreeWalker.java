@@ -0,0 +1,333 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static io.github.lemon_ant.globpathfinder.PathTreeWalker.PATH_RESULT;
+import static io.github.lemon_ant.globpathfinder.PathTreeWalker.openDirectory;
+import static io.github.lemon_ant.globpathfinder.PathTreeWalker.readAttributes;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Concurrent counterpart of {@link PathTreeWalker}: lists directories in parallel on a dedicated
+ * {@link ForkJoinPool}, or on a pool supplied by the caller.
+ *
+ * <p>Each directory is one {@link ForkJoinTask}. A task lists its directory, reads child attributes, publishes
+ * the matched children as one batch, and forks a subtask per child directory, so idle workers steal whole
+ * subtrees. Results reach the consuming stream through a bounded {@link PathBatchHandoff}; when the consumer falls
+ * behind, workers block on the full queue and the walk pauses; the pool may add up to {@code parallelism} spare
+ * threads while workers wait.</p>
+ *
+ * <p>Matching, pruning, depth, link handling and error reporting follow {@link PathTreeWalker}, except that the
+ * result order is unspecified. The first failure stops the walk and is rethrown by the stream after the batches
+ * queued before it. Closing the stream cancels outstanding tasks and shuts a dedicated pool down; a supplied pool
+ * is left running, and its tasks of the walk end at their next directory.</p>
+ *
+ * @param <S> the per-entry state of the walk's {@link TreeWalkFilter}
+ * @param <R> the type of the emitted results
+ */
+@SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.DoNotUseThreads"})
+final class ParallelTreeWalker<S, R> {
+
+    /**
+     * Batches buffered per worker thread before directory listing pauses for the consumer.
+     */
+    private static final int QUEUED_BATCHES_PER_THREAD = 4;
+
+    private static final long SPARE_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private final TreeWalkFilter<S> filter;
+    private final boolean followLinks;
+    private final PathBatchHandoff<R> handoff;
+    private final int maxDepth;
+    private final BiFunction<Path, BasicFileAttributes, R> resultFactory;
+
+    private ParallelTreeWalker(
+            TreeWalkFilter<S> filter,
+            int maxDepth,
+            boolean followLinks,
+            BiFunction<Path, BasicFileAttributes, R> resultFactory,
+            PathBatchHandoff<R> handoff) {
+        this.filter = filter;
+        this.maxDepth = maxDepth;
+        this.followLinks = followLinks;
+        this.resultFactory = resultFactory;
+        this.handoff = handoff;
+    }
+
+    /**
+     * Walks the tree rooted at {@code start} with up to {@code parallelism} concurrent directory listings and returns
+     * the entries accepted by {@code filter}.
+     *
+     * @param start       the starting path
+     * @param maxDepth    the maximum number of directory levels to visit
+     * @param filter      decides whether an entry is emitted and whether a directory is listed
+     * @param followLinks whether symbolic links are followed
+     * @param parallelism the number of worker threads; must be positive
+     * @param <S>         the per-entry state of {@code filter}
+     * @return a stream of matched paths in unspecified order; the caller must close it to stop the walk
+     * @throws IOException if the start path cannot be read or opened
+     */
+    @NonNull
+    static <S> Stream<Path> find(
+            @NonNull Path start,
+            int maxDepth,
+            @NonNull TreeWalkFilter<S> filter,
+            boolean followLinks,
+            int parallelism)
+            throws IOException {
+        return find(start, maxDepth, filter, followLinks, parallelism, PATH_RESULT);
+    }
+
+    /**
+     * Walks the tree rooted at {@code start} with up to {@code parallelism} concurrent directory listings and returns
+     * a result for each entry accepted by {@code filter}, built from the entry and the attributes read for it.
+     *
+     * @param start         the starting path
+     * @param maxDepth      the maximum number of directory levels to visit
+     * @param filter        decides whether an entry is emitted and whether a directory is listed
+     * @param followLinks   whether symbolic links are followed
+     * @param parallelism   the number of worker threads; must be positive
+     * @param resultFactory builds the result of a matched entry from its path and attributes
+     * @param <S>           the per-entry state of {@code filter}
+     * @param <R>           the type of the results
+     * @return a stream of results in unspecified order; the caller must close it to stop the walk
+     * @throws IOException if the start path cannot be read or opened
+     */
+    @NonNull
+    static <S, R> Stream<R> find(
+            @NonNull Path start,
+            int maxDepth,
+            @NonNull TreeWalkFilter<S> filter,
+            boolean followLinks,
+            int parallelism,
+            @NonNull BiFunction<Path, BasicFileAttributes, R> resultFactory)
+            throws IOException {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must be non-negative: " + maxDepth);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        return walk(start, maxDepth, filter, followLinks, parallelism, null, resultFactory);
+    }
+
+    /**
+     * Walks the tree rooted at {@code start} with directory listings on the workers of {@code pool} and returns a
+     * result for each entry accepted by {@code filter}, built from the entry and the attributes read for it.
+     *
+     * <p>The walk shares {@code pool} with whatever else runs on it: at most its parallelism of listings run at once,
+     * the pool is not shut down when the walk ends, and a worker waiting for the consumer lets the pool start a spare
+     * thread as its own settings allow.</p>
+     *
+     * @param start         the starting path
+     * @param maxDepth      the maximum number of directory levels to visit
+     * @param filter        decides whether an entry is emitted and whether a directory is listed
+     * @param followLinks   whether symbolic links are followed
+     * @param pool          the pool whose workers list the directories
+     * @param resultFactory builds the result of a matched entry from its path and attributes
+     * @param <S>           the per-entry state of {@code filter}
+     * @param <R>           the type of the results
+     * @return a stream of results in unspecified order; the caller must close it to stop the walk
+     * @throws IOException if the start path cannot be read or opened
+     */
+    @NonNull
+    static <S, R> Stream<R> find(
+            @NonNull Path start,
+            int maxDepth,
+            @NonNull TreeWalkFilter<S> filter,
+            boolean followLinks,
+            @NonNull ForkJoinPool pool,
+            @NonNull BiFunction<Path, BasicFileAttributes, R> resultFactory)
+            throws IOException {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must be non-negative: " + maxDepth);
+        }
+        return walk(start, maxDepth, filter, followLinks, pool.getParallelism(), pool, resultFactory);
+    }
+
+    /**
+     * Starts the walk on {@code sharedPool}, or on a dedicated pool of {@code parallelism} threads if it is
+     * {@code null}.
+     */
+    @NonNull
+    private static <S, R> Stream<R> walk(
+            Path start,
+            int maxDepth,
+            TreeWalkFilter<S> filter,
+            boolean followLinks,
+            int parallelism,
+            @Nullable ForkJoinPool sharedPool,
+            BiFunction<Path, BasicFileAttributes, R> resultFactory)
+            throws IOException {
+        PathBatchHandoff<R> handoff = new PathBatchHandoff<>(parallelism * QUEUED_BATCHES_PER_THREAD);
+        ParallelTreeWalker<S, R> walker =
+                new ParallelTreeWalker<>(filter, maxDepth, followLinks, resultFactory, handoff);
+
+        // Read and open the start synchronously so that start failures surface from find(), as with Files.find.
+        BasicFileAttributes startAttributes = readAttributes(start, followLinks);
+        S startState = filter.startState(start);
+        if (filter.isMatched(startState, start, startAttributes)) {
+            handoff.publish(List.of(resultFactory.apply(start, startAttributes)));
+        }
+        if (!walker.shouldDescend(start, startAttributes, startState, 0)) {
+            handoff.complete();
+            return StreamSupport.stream(handoff, false).onClose(handoff::cancel);
+        }
+        DirectoryStream<Path> startListing = openDirectory(start, filter, startState);
+        ParallelTreeWalker<S, R>.DirectoryTask rootTask = walker.new DirectoryTask(
+                start, startListing, startState, 0, DirectoryAncestors.root(start, startAttributes));
+
+        if (sharedPool != null) {
+            sharedPool.execute(() -> walker.runRoot(rootTask, null));
+            return StreamSupport.stream(handoff, false).onClose(handoff::cancel);
+        }
+        ForkJoinPool pool = newPool(parallelism);
+        pool.execute(() -> walker.runRoot(rootTask, pool));
+        return StreamSupport.stream(handoff, false).onClose(() -> {
+            handoff.cancel();
+            pool.shutdownNow();
+        });
+    }
+
+    /**
+     * Creates the walk's pool. Workers waiting for the consumer in {@link PathBatchHandoff#publish(List)} let the
+     * pool start spare threads, at most {@code parallelism} of them; beyond that they wait without compensation.
+     */
+    @NonNull
+    private static ForkJoinPool newPool(int parallelism) {
+        return new ForkJoinPool(
+                parallelism,
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+                null,
+                false,
+                0,
+                2 * parallelism,
+                1,
+                pool -> true,
+                SPARE_THREAD_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Runs the walk from its root task and shuts {@code dedicatedPool} down once it is over, if there is one.
+     */
+    private void runRoot(DirectoryTask rootTask, @Nullable ForkJoinPool dedicatedPool) {
+        try {
+            rootTask.run();
+            handoff.complete();
+        } catch (RuntimeException | Error failure) {
+            handoff.fail(failure);
+        } finally {
+            if (dedicatedPool != null) {
+                dedicatedPool.shutdown();
+            }
+        }
+    }
+
+    private boolean shouldDescend(Path path, BasicFileAttributes attributes, S state, int depth) {
+        return depth < maxDepth && attributes.isDirectory() && filter.isDescended(state, path, attributes);
+    }
+
+    /**
+     * Lists one directory, publishes its matched children and forks one subtask per child directory.
+     */
+    private final class DirectoryTask implements Runnable {
+
+        private final DirectoryAncestors ancestors;
+        private final int depth;
+        private final Path directory;
+        private final S state;
+
+        @Nullable
+        private DirectoryStream<Path> openedListing;
+
+        private DirectoryTask(
+                Path directory,
+                @Nullable DirectoryStream<Path> openedListing,
+                S state,
+                int depth,
+                DirectoryAncestors ancestors) {
+            this.directory = directory;
+            this.openedListing = openedListing;
+            this.state = state;
+            this.depth = depth;
+            this.ancestors = ancestors;
+        }
+
+        @Override
+        public void run() {
+            if (!handoff.isActive()) {
+                closeOpenedListing();
+                return;
+            }
+            List<R> matched = new ArrayList<>();
+            List<ForkJoinTask<?>> subtasks = new ArrayList<>();
+            try (DirectoryStream<Path> listing = openListing()) {
+                for (Path child : listing) {
+                    if (!handoff.isActive()) {
+                        return;
+                    }
+                    BasicFileAttributes childAttributes = readAttributes(child, followLinks);
+                    S childState = filter.childState(state, child);
+                    if (shouldDescend(child, childAttributes, childState, depth + 1)) {
+                        Object childKey = childAttributes.fileKey();
+                        if (followLinks && ancestors.contains(child, childKey)) {
+                            throw new FileSystemLoopException(child.toString());
+                        }
+                        subtasks.add(ForkJoinTask.adapt(new DirectoryTask(
+                                child, null, childState, depth + 1, ancestors.child(child, childKey))));
+                    }
+                    if (filter.isMatched(childState, child, childAttributes)) {
+                        matched.add(resultFactory.apply(child, childAttributes));
+                    }
+                }
+            } catch (IOException ioe) {
+                handoff.fail(ioe);
+                return;
+            } catch (DirectoryIteratorException die) {
+                handoff.fail(die.getCause());
+                return;
+            }
+            if (handoff.publish(matched)) {
+                ForkJoinTask.invokeAll(subtasks);
+            }
+        }
+
+        private DirectoryStream<Path> openListing() throws IOException {
+            DirectoryStream<Path> listing = openedListing;
+            openedListing = null;
+            return listing != null ? listing : openDirectory(directory, filter, state);
+        }
+
+        private void closeOpenedListing() {
+            DirectoryStream<Path> listing = openedListing;
+            openedListing = null;
+            if (listing != null) {
+                try {
+                    listing.close();
+                } catch (IOException ignored) {
+                    // the walk is already over; nothing left to report to
+                }
+            }
+        }
+    }
+}
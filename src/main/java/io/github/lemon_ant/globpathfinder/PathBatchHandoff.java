@@ -0,0 +1,314 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Bounded hand-off of path batches from background walker threads to the thread consuming the result stream.
+ *
+ * <h2>Producer side</h2>
+ * <ul>
+ *   <li>{@link #publish(List)} blocks while the queue is full (backpressure) and returns {@code false} once the
+ *       hand-off has been cancelled or has failed, so producers can stop walking. The wait is a
+ *       {@link ForkJoinPool#managedBlock managed block}, so it never starves the fork/join pool it runs on.</li>
+ *   <li>{@link #complete()} and {@link #fail(Throwable)} terminate the hand-off; only the first terminal signal
+ *       counts.</li>
+ * </ul>
+ *
+ * <h2>Consumer side</h2>
+ * <p>The hand-off is itself a non-splitting {@link Spliterator} that drains batches in arrival order;
+ * {@link #tryAdvanceUntil(Consumer, long)} waits for the next path only up to a deadline. Waits are managed blocks
+ * too, so a consumer on a fork/join worker cannot starve walker tasks queued on the same pool. A failure is
+ * rethrown when it is reached: {@link IOException}s as {@link UncheckedIOException}, so the usual fail-fast and
+ * {@link IoTolerantPathStream} shielding apply unchanged. {@link #cancel()} discards queued batches and makes every
+ * blocked or future {@link #publish(List)} return {@code false}.</p>
+ *
+ * @param <T> the type of the walk results, typically {@link java.nio.file.Path}
+ */
+@SuppressWarnings("PMD.AvoidUsingVolatile")
+final class PathBatchHandoff<T> implements Spliterator<T> {
+
+    private static final Object END_OF_WALK = new Object();
+    private static final long OFFER_POLL_MILLIS = 50;
+
+    private final BlockingQueue<Object> queue;
+
+    @Nullable
+    private Iterator<T> currentBatch;
+
+    private volatile boolean cancelled;
+    private boolean exhausted;
+    private volatile boolean terminated;
+
+    /**
+     * @param capacity maximum number of batches buffered between producers and the consumer; must be positive
+     */
+    PathBatchHandoff(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Hands a batch of paths to the consumer, blocking while the queue is full.
+     *
+     * @param batch the paths to publish; empty batches are ignored
+     * @return {@code true} if the batch was queued; {@code false} if the hand-off was cancelled or terminated and
+     *         the producer should stop
+     */
+    boolean publish(@NonNull List<T> batch) {
+        if (batch.isEmpty()) {
+            return isActive();
+        }
+        return isActive() && enqueue(batch);
+    }
+
+    /**
+     * Signals that all producers have finished successfully.
+     */
+    void complete() {
+        terminate(END_OF_WALK);
+    }
+
+    /**
+     * Signals a walk failure; the consumer rethrows it after draining the batches queued before it.
+     *
+     * @param failure the failure to surface to the consumer
+     */
+    void fail(@NonNull Throwable failure) {
+        terminate(new Failure(failure));
+    }
+
+    /**
+     * Returns {@code true} while producers should keep walking: not cancelled and not yet terminated.
+     *
+     * @return whether the hand-off still accepts batches
+     */
+    boolean isActive() {
+        return !cancelled && !terminated;
+    }
+
+    /**
+     * Tells whether no batch is queued, i.e. whether the consumer has run out of paths to process.
+     *
+     * @return {@code true} if the queue is empty
+     */
+    boolean isDrained() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * Cancels the hand-off from the consumer side: queued batches are dropped and producers are released.
+     */
+    void cancel() {
+        cancelled = true;
+        queue.clear();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (true) {
+            Iterator<T> batch = currentBatch;
+            if (batch != null && batch.hasNext()) {
+                action.accept(batch.next());
+                return true;
+            }
+            currentBatch = null;
+            if (exhausted) {
+                return false;
+            }
+            takeNext(Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Performs {@code action} on the next path if one is queued or arrives before {@code deadlineNanos}.
+     *
+     * @param action        the action to perform on the next path
+     * @param deadlineNanos the {@link System#nanoTime()} at which to stop waiting; a past deadline takes only a path
+     *                      that is already queued
+     * @return {@code true} if a path was consumed; {@code false} if the walk is over or the deadline passed
+     */
+    boolean tryAdvanceUntil(Consumer<? super T> action, long deadlineNanos) {
+        while (true) {
+            Iterator<T> batch = currentBatch;
+            if (batch != null && batch.hasNext()) {
+                action.accept(batch.next());
+                return true;
+            }
+            currentBatch = null;
+            if (exhausted || !takeNext(deadlineNanos - System.nanoTime())) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    @Nullable
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.NONNULL;
+    }
+
+    /**
+     * Takes the next queued element, waiting at most {@code timeoutNanos}, or without bound for
+     * {@link Long#MAX_VALUE}.
+     *
+     * @return {@code false} if the wait timed out
+     */
+    @SuppressWarnings("unchecked")
+    private boolean takeNext(long timeoutNanos) {
+        TakeBlocker blocker = new TakeBlocker(timeoutNanos);
+        try {
+            ForkJoinPool.managedBlock(blocker);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            exhausted = true;
+            cancel();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for paths"));
+        }
+        Object next = blocker.taken;
+        if (next == null) {
+            return false;
+        }
+        if (next == END_OF_WALK) {
+            exhausted = true;
+        } else if (next instanceof Failure) {
+            exhausted = true;
+            ((Failure) next).rethrow();
+        } else {
+            currentBatch = ((List<T>) next).iterator();
+        }
+        return true;
+    }
+
+    private void terminate(Object terminalSignal) {
+        synchronized (this) {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+        }
+        enqueue(terminalSignal);
+    }
+
+    private boolean enqueue(Object element) {
+        OfferBlocker blocker = new OfferBlocker(element);
+        try {
+            ForkJoinPool.managedBlock(blocker);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return blocker.offered && !cancelled;
+    }
+
+    /**
+     * Waits for queue space as a {@link ForkJoinPool.ManagedBlocker}, so that a fork/join pool whose workers wait
+     * for a slow consumer can run other tasks on a spare thread; other threads simply block.
+     */
+    private final class OfferBlocker implements ForkJoinPool.ManagedBlocker {
+
+        private final Object element;
+        private boolean offered;
+
+        private OfferBlocker(Object element) {
+            this.element = element;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (!isReleasable()) {
+                offered = queue.offer(element, OFFER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            return offered || cancelled;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            if (!offered && !cancelled) {
+                offered = queue.offer(element);
+            }
+            return offered || cancelled;
+        }
+    }
+
+    /**
+     * Waits for the next queued element as a {@link ForkJoinPool.ManagedBlocker}, so that a consumer running on a
+     * fork/join worker lets the pool run the walker tasks it waits for on a spare thread, even when they share that
+     * pool; other threads simply block.
+     */
+    private final class TakeBlocker implements ForkJoinPool.ManagedBlocker {
+
+        private final long deadlineNanos;
+        private final boolean unbounded;
+
+        @Nullable
+        private Object taken;
+
+        private TakeBlocker(long timeoutNanos) {
+            this.unbounded = timeoutNanos == Long.MAX_VALUE;
+            this.deadlineNanos = unbounded ? 0 : System.nanoTime() + timeoutNanos;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (taken == null) {
+                taken = unbounded ? queue.take() : queue.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            if (taken == null) {
+                taken = queue.poll();
+            }
+            return taken != null;
+        }
+    }
+
+    private static final class Failure {
+
+        private final Throwable cause;
+
+        private Failure(Throwable cause) {
+            this.cause = cause;
+        }
+
+        private void rethrow() {
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * A path found by {@link GlobPathFinder#findEntries(PathQuery)} together with the attributes the traversal already
+ * read to filter it, so that sizes, timestamps and file types need no second file system call.
+ *
+ * <p>The attributes are a snapshot taken when the entry was visited. With {@link PathQuery#isFollowLinks()} they
+ * describe the link target, or the link itself when it is dangling; otherwise they describe the entry itself.</p>
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class PathEntry {
+
+    /**
+     * The absolute, normalized path, exactly as {@link GlobPathFinder#findPaths(PathQuery)} would return it.
+     */
+    @NonNull
+    Path path;
+
+    /**
+     * The attributes of {@link #getPath()} read during traversal.
+     */
+    @NonNull
+    BasicFileAttributes attributes;
+}
@@ -9,9 +9,12 @@ import static java.util.Optional.ofNullable;
 
 import java.nio.file.FileVisitOption;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import lombok.Builder;
 import lombok.NonNull;
 import lombok.Singular;
@@ -41,8 +44,35 @@ import org.jspecify.annotations.Nullable;
  *       {@code false}, links are visited as link entries only and are never traversed.</li>
  *   <li><b>failFastOnError</b> — error-handling behavior during traversal:
  *       {@code true} ⇒ fail-fast on the first late I/O error; {@code false} ⇒ shield errors and continue.</li>
+ *   <li><b>traversalMode</b> — how directories are read: {@link TraversalMode#SEQUENTIAL} lazy walk on the
+ *       consuming thread, or {@link TraversalMode#PARALLEL} concurrent listing on a fork/join pool.</li>
+ *   <li><b>traversalParallelism</b> — maximum number of concurrent directory listings in
+ *       {@link TraversalMode#PARALLEL} mode.</li>
+ *   <li><b>forkJoinPool</b> — optional pool of the caller on which {@link TraversalMode#PARALLEL} listings,
+ *       {@code GlobPathFinder.count} and {@code GlobPathFinder.processPaths} run, instead of dedicated pools and the
+ *       common pool.</li>
+ *   <li><b>minSize/maxSize</b> — inclusive size bounds in bytes for regular files; other entries are not filtered
+ *       by size.</li>
+ *   <li><b>modifiedAfter/modifiedBefore</b> — exclusive bounds on the last-modified time of every entry.</li>
+ *   <li><b>maxResults</b> — maximum number of results; the traversal stops reading directories once it is
+ *       reached.</li>
+ *   <li><b>batchSize/maxBatchSize</b> — how many paths a {@code .parallel()} stream hands to a worker at once: the
+ *       first batch holds {@code batchSize} paths and each further one {@code batchSize} more, up to
+ *       {@code maxBatchSize}.</li>
+ *   <li><b>batchLatency</b> — longest time a {@code .parallel()} stream waits to fill a batch; when positive, the
+ *       traversal runs ahead on a background thread and a batch is handed out partial once this time has passed.</li>
+ *   <li><b>prefetchBatches</b> — when positive, the traversal runs on a background thread that queues up to this
+ *       many batches of {@code batchSize} paths ahead of the stream, so directory reads overlap with the consumer's
+ *       work; the traversal pauses while the queue is full.</li>
+ *   <li><b>baseConcurrency</b> — maximum number of disjoint include bases walked at once; their paths interleave in
+ *       the result stream.</li>
+ *   <li><b>cancellationToken/timeout</b> — stop the traversal before its next directory read once the token is
+ *       cancelled or the time has passed; the stream then throws a {@link TraversalCancelledException}.</li>
  * </ul>
  *
+ * <p>Size and time bounds are checked on the attributes the traversal reads anyway, so they add no file system
+ * call per path.</p>
+ *
  * <h2>Relaxed defaults</h2>
  * <ul>
  *   <li>{@code baseDir == null} or omitted → {@code Path.of(".")}.</li>
@@ -53,6 +83,25 @@ import org.jspecify.annotations.Nullable;
  *   <li>{@code onlyFiles == null}  or omitted → {@code true}.</li>
  *   <li>{@code followLinks == null} or omitted → {@code true}.</li>
  *   <li>{@code failFastOnError == null} or omitted → {@code true} (fail-fast).</li>
+ *   <li>{@code traversalMode == null} or omitted → {@link TraversalMode#SEQUENTIAL}.</li>
+ *   <li>{@code traversalParallelism == null} or not positive → the parallelism of {@code forkJoinPool} if set,
+ *       otherwise {@code Runtime.availableProcessors()}; values above {@link #MAX_TRAVERSAL_PARALLELISM} are
+ *       capped.</li>
+ *   <li>{@code forkJoinPool} omitted → {@code null} (dedicated walker pools and the common pool).</li>
+ *   <li>{@code minSize == null || minSize < 0} or omitted → {@code 0} (no lower bound).</li>
+ *   <li>{@code maxSize == null || maxSize < 0} or omitted → {@code Long.MAX_VALUE} (no upper bound).</li>
+ *   <li>{@code modifiedAfter == null} or omitted → {@link Instant#MIN} (no lower bound).</li>
+ *   <li>{@code modifiedBefore == null} or omitted → {@link Instant#MAX} (no upper bound).</li>
+ *   <li>{@code maxResults == null || maxResults < 0} or omitted → {@code Long.MAX_VALUE} (unlimited).</li>
+ *   <li>{@code batchSize == null} or not positive → {@code Runtime.availableProcessors() * 2}.</li>
+ *   <li>{@code maxBatchSize == null} or not positive → {@link #DEFAULT_MAX_BATCH_SIZE}; values below
+ *       {@code batchSize} are raised to it, which gives fixed batches.</li>
+ *   <li>{@code batchLatency == null} or not positive → {@link Duration#ZERO} (batches are always filled).</li>
+ *   <li>{@code prefetchBatches == null} or not positive → {@code 0} (the traversal runs on the consuming threads,
+ *       unless {@code batchLatency} is set).</li>
+ *   <li>{@code baseConcurrency == null} or not positive → {@code 1} (bases are walked one after another).</li>
+ *   <li>{@code cancellationToken} omitted → {@code null} (no cancellation).</li>
+ *   <li>{@code timeout == null} or not positive → {@link Duration#ZERO} (no time limit).</li>
  * </ul>
  *
  * <h2>Examples</h2>
@@ -80,6 +129,18 @@ import org.jspecify.annotations.Nullable;
 @Value
 public class PathQuery {
 
+    /**
+     * Upper bound for {@link #getTraversalParallelism()}, matching the {@link java.util.concurrent.ForkJoinPool}
+     * limit.
+     */
+    public static final int MAX_TRAVERSAL_PARALLELISM = 0x7fff;
+
+    /**
+     * Default for {@link #getMaxBatchSize()}; also the first batch size of
+     * {@link java.util.Spliterators.AbstractSpliterator}.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+
     /**
      * Optional whitelist of file extensions without dots, case-insensitive.
      * If omitted, this field is an empty Set.
@@ -88,6 +149,17 @@ public class PathQuery {
     @NonNull
     Set<String> allowedExtensions;
 
+    /**
+     * Maximum number of walk roots scanned at once. The include globs are grouped into one walk per disjoint base
+     * directory; above {@code 1}, up to this many of those walks run concurrently, on the {@link #getForkJoinPool()}
+     * if set and on dedicated threads otherwise, and their paths are interleaved in the result stream as they are
+     * found, in batches of up to {@link #getBatchSize()}. Each walk still reads its directories as the
+     * {@link #getTraversalMode()} says, so at most this many walks hold directory handles at a time. If null, omitted
+     * or not positive in the builder, becomes {@code 1}: the walks run one after another on the consuming thread, in
+     * the order of their roots.
+     */
+    int baseConcurrency;
+
     /**
      * Starting directory for traversal.
      * If null or omitted in the builder, it becomes Path.of(".") in the constructor.
@@ -95,6 +167,32 @@ public class PathQuery {
     @NonNull
     Path baseDir;
 
+    /**
+     * Longest time a split of a {@code .parallel()} stream of results waits for its batch to fill. When positive, the
+     * traversal runs on a background thread that queues paths ahead of the stream, and a split hands out the paths
+     * that arrived within this time, so workers start on the first paths while slow directory reads continue.
+     * Ignored when {@link #getMaxResults()} is set, as a limited stream is not batched. If null, omitted or not
+     * positive in the builder, becomes {@link Duration#ZERO}: splits wait for full batches and the traversal runs on
+     * the consuming threads.
+     */
+    @NonNull
+    Duration batchLatency;
+
+    /**
+     * Number of paths in the first batch a {@code .parallel()} stream of results splits off, and the growth of each
+     * further batch. A small first batch lets workers start as soon as the traversal yields the first paths. If null,
+     * omitted or not positive in the builder, becomes {@code Runtime.availableProcessors() * 2}.
+     */
+    int batchSize;
+
+    /**
+     * Optional handle that stops the traversals of this query: once it is cancelled, each traversal stops before its
+     * next directory read and its stream throws a {@link TraversalCancelledException}. A token is compared by
+     * identity. If omitted, this field is {@code null} and the traversal can only be stopped by closing its stream.
+     */
+    @Nullable
+    CancellationToken cancellationToken;
+
     /**
      * Optional exclude glob patterns.
      * If omitted, this field is an empty Set, which disables exclude filtering.
@@ -120,6 +218,21 @@ public class PathQuery {
      */
     boolean followLinks;
 
+    /**
+     * Pool of the caller that runs the parallel work of a query, or {@code null} if omitted in the builder. When set:
+     * <ul>
+     *   <li>{@link TraversalMode#PARALLEL} lists directories on its workers, as fork/join tasks and also on Java 21+,
+     *       rather than on a dedicated pool or on virtual threads; the pool is left running;</li>
+     *   <li>{@code GlobPathFinder.count} counts disjoint bases on it rather than on the common pool;</li>
+     *   <li>{@code GlobPathFinder.processPaths} consumes the parallel stream of results on it, so batches are split
+     *       off and processed by its workers.</li>
+     * </ul>
+     * A stream returned by {@code findPaths} runs {@code .parallel()} work wherever its terminal operation is
+     * called, and the producer thread of {@link #getPrefetchBatches()} is always a thread of its own.
+     */
+    @Nullable
+    ForkJoinPool forkJoinPool;
+
     /**
      * Include glob patterns.
      * If omitted, this field is an empty Set.
@@ -128,17 +241,97 @@ public class PathQuery {
     @NonNull
     Set<String> includeGlobs;
 
+    /**
+     * Largest number of paths in a batch a {@code .parallel()} stream of results splits off. Larger batches mean
+     * fewer splits for cheap per-path work. If null, omitted or not positive in the builder, becomes
+     * {@link #DEFAULT_MAX_BATCH_SIZE}; a value below {@link #getBatchSize()} is raised to it, so that every batch
+     * has the same size.
+     */
+    int maxBatchSize;
+
     /**
      * Maximum depth to traverse. If null or omitted or negative in the builder, becomes Integer.MAX_VALUE (unlimited).
      */
     int maxDepth;
 
+    /**
+     * Maximum number of results. The traversal stops as soon as the last one is emitted, so no directory is read
+     * past it. If null, omitted or negative in the builder, becomes {@code Long.MAX_VALUE} (unlimited).
+     */
+    long maxResults;
+
+    /**
+     * Largest size in bytes, inclusive, of a matched regular file. If null, omitted or negative in the builder,
+     * becomes {@code Long.MAX_VALUE} (unbounded).
+     */
+    long maxSize;
+
+    /**
+     * Smallest size in bytes, inclusive, of a matched regular file. If null, omitted or negative in the builder,
+     * becomes {@code 0} (unbounded).
+     */
+    long minSize;
+
+    /**
+     * Matched entries must have been last modified strictly after this instant. If null or omitted in the builder,
+     * becomes {@link Instant#MIN}, which disables the bound.
+     */
+    @NonNull
+    Instant modifiedAfter;
+
+    /**
+     * Matched entries must have been last modified strictly before this instant. If null or omitted in the builder,
+     * becomes {@link Instant#MAX}, which disables the bound.
+     */
+    @NonNull
+    Instant modifiedBefore;
+
     /**
      * Whether to match only regular files (true) or everything (false). If null or omitted in the builder,
      * defaults to true (only regular files are returned).
      */
     boolean onlyFiles;
 
+    /**
+     * Number of batches of {@link #getBatchSize()} paths a background traversal queues ahead of the stream of
+     * results. When positive, one producer thread runs the walks (whose {@link TraversalMode#PARALLEL} listings run
+     * on their own threads as usual) and hands matched paths to the stream through a bounded queue; it pauses while
+     * the queue is full, so at most about {@code prefetchBatches * batchSize} paths are held. Directory reads then
+     * overlap with the consumer's processing, sequential or parallel. Ignored when {@link #getMaxResults()} is set, as
+     * a limited stream never reads ahead. If null, omitted or not positive in the builder, becomes {@code 0}: the
+     * traversal runs on the consuming threads, or ahead by a fixed number of batches when
+     * {@link #getBatchLatency()} is set.
+     */
+    int prefetchBatches;
+
+    /**
+     * Longest time a traversal of this query may run, counted from the call that starts it ({@code findPaths},
+     * {@code findEntries}, {@code count} and their variants, or the first request of a {@code publish} subscription).
+     * Once it has passed, the traversal stops before its next directory read and its stream throws a
+     * {@link TraversalCancelledException}; a directory read in progress is not interrupted. If null, omitted or not
+     * positive in the builder, becomes {@link Duration#ZERO}: no time limit.
+     */
+    @NonNull
+    Duration timeout;
+
+    /**
+     * How directories are read during traversal. If null or omitted in the builder, defaults to
+     * {@link TraversalMode#SEQUENTIAL}.
+     */
+    @NonNull
+    TraversalMode traversalMode;
+
+    /**
+     * Maximum number of concurrent directory listings when {@link #getTraversalMode()} is
+     * {@link TraversalMode#PARALLEL}; ignored otherwise. On Java 21+ listings run on virtual threads, so values far
+     * above the processor count are cheap and pay off on network file systems; older runtimes use this many
+     * fork/join threads. If null, omitted or not positive in the builder, defaults to the parallelism of
+     * {@link #getForkJoinPool()} if set and to the number of available processors otherwise; capped at
+     * {@link #MAX_TRAVERSAL_PARALLELISM}. On a {@link #getForkJoinPool()}, the pool's own parallelism bounds the
+     * listings instead.
+     */
+    int traversalParallelism;
+
     /**
      * Builder-backed constructor. Normalizes nullable inputs to safe defaults.
      *
@@ -157,6 +350,38 @@ public class PathQuery {
      * @param failFastOnError   Error-handling strategy. If null or omitted, defaults to {@code true} (fail-fast).
      *                          {@code true} ⇒ abort immediately on first I/O error,
      *                          {@code false} ⇒ shield errors, log a warning, and continue traversal.
+     * @param traversalMode     How directories are read. If null or omitted, defaults to
+     *                          {@link TraversalMode#SEQUENTIAL}.
+     * @param traversalParallelism Concurrent directory listings for {@link TraversalMode#PARALLEL}. If null,
+     *                          omitted or not positive, defaults to the parallelism of {@code forkJoinPool} if set,
+     *                          otherwise to the number of available processors; capped at
+     *                          {@link #MAX_TRAVERSAL_PARALLELISM}.
+     * @param minSize           Smallest regular file size in bytes, inclusive. If null, omitted or negative, becomes
+     *                          {@code 0}.
+     * @param maxSize           Largest regular file size in bytes, inclusive. If null, omitted or negative, becomes
+     *                          {@code Long.MAX_VALUE}.
+     * @param modifiedAfter     Exclusive lower bound of the last-modified time. If null or omitted, becomes
+     *                          {@link Instant#MIN} (disabled).
+     * @param modifiedBefore    Exclusive upper bound of the last-modified time. If null or omitted, becomes
+     *                          {@link Instant#MAX} (disabled).
+     * @param maxResults        Maximum number of results. If null, omitted or negative, becomes
+     *                          {@code Long.MAX_VALUE} (unlimited).
+     * @param batchSize         First batch size of a parallel result stream, and its growth per batch. If null,
+     *                          omitted or not positive, becomes {@code Runtime.availableProcessors() * 2}.
+     * @param maxBatchSize      Largest batch size of a parallel result stream. If null, omitted or not positive,
+     *                          becomes {@link #DEFAULT_MAX_BATCH_SIZE}; raised to {@code batchSize} if below it.
+     * @param batchLatency      Longest wait for a batch of a parallel result stream to fill. If null, omitted or not
+     *                          positive, becomes {@link Duration#ZERO} (disabled).
+     * @param prefetchBatches   Batches of paths a background traversal queues ahead of the stream. If null, omitted
+     *                          or not positive, becomes {@code 0} (disabled).
+     * @param forkJoinPool      Pool for parallel traversal, counting and {@code processPaths}. If null or omitted,
+     *                          dedicated walker pools and the common pool are used.
+     * @param baseConcurrency   Walk roots scanned at once. If null, omitted or not positive, becomes {@code 1}
+     *                          (one after another).
+     * @param cancellationToken Handle that stops the traversals of the query. If null or omitted, they run until
+     *                          exhausted or closed.
+     * @param timeout           Longest run time of a traversal. If null, omitted or not positive, becomes
+     *                          {@link Duration#ZERO} (disabled).
      */
     @Builder(toBuilder = true)
     private PathQuery(
@@ -167,7 +392,22 @@ public class PathQuery {
             @Nullable Integer maxDepth,
             @Nullable Boolean onlyFiles,
             @Nullable Boolean followLinks,
-            @Nullable Boolean failFastOnError) {
+            @Nullable Boolean failFastOnError,
+            @Nullable TraversalMode traversalMode,
+            @Nullable Integer traversalParallelism,
+            @Nullable Long minSize,
+            @Nullable Long maxSize,
+            @Nullable Instant modifiedAfter,
+            @Nullable Instant modifiedBefore,
+            @Nullable Long maxResults,
+            @Nullable Integer batchSize,
+            @Nullable Integer maxBatchSize,
+            @Nullable Duration batchLatency,
+            @Nullable Integer prefetchBatches,
+            @Nullable ForkJoinPool forkJoinPool,
+            @Nullable Integer baseConcurrency,
+            @Nullable CancellationToken cancellationToken,
+            @Nullable Duration timeout) {
         this.baseDir = ofNullable(baseDir).orElse(Path.of("."));
         this.includeGlobs = Set.copyOf(includeGlobs);
         this.allowedExtensions = Set.copyOf(allowedExtensions);
@@ -176,6 +416,33 @@ public class PathQuery {
         this.onlyFiles = ofNullable(onlyFiles).orElse(true);
         this.followLinks = ofNullable(followLinks).orElse(true);
         this.failFastOnError = ofNullable(failFastOnError).orElse(true);
+        this.traversalMode = ofNullable(traversalMode).orElse(TraversalMode.SEQUENTIAL);
+        this.traversalParallelism = ofNullable(traversalParallelism)
+                .filter(parallelism -> parallelism > 0)
+                .map(parallelism -> Math.min(parallelism, MAX_TRAVERSAL_PARALLELISM))
+                .orElseGet(() -> forkJoinPool != null
+                        ? forkJoinPool.getParallelism()
+                        : Runtime.getRuntime().availableProcessors());
+        this.minSize = ofNullable(minSize).filter(size -> size >= 0).orElse(0L);
+        this.maxSize = ofNullable(maxSize).filter(size -> size >= 0).orElse(Long.MAX_VALUE);
+        this.modifiedAfter = ofNullable(modifiedAfter).orElse(Instant.MIN);
+        this.modifiedBefore = ofNullable(modifiedBefore).orElse(Instant.MAX);
+        this.maxResults = ofNullable(maxResults).filter(results -> results >= 0).orElse(Long.MAX_VALUE);
+        this.batchSize = ofNullable(batchSize)
+                .filter(size -> size > 0)
+                .orElseGet(() -> Runtime.getRuntime().availableProcessors() * 2);
+        this.maxBatchSize = Math.max(
+                ofNullable(maxBatchSize).filter(size -> size > 0).orElse(DEFAULT_MAX_BATCH_SIZE), this.batchSize);
+        this.batchLatency = ofNullable(batchLatency)
+                .filter(latency -> !latency.isNegative() && !latency.isZero())
+                .orElse(Duration.ZERO);
+        this.prefetchBatches = ofNullable(prefetchBatches).filter(batches -> batches > 0).orElse(0);
+        this.forkJoinPool = forkJoinPool;
+        this.baseConcurrency = ofNullable(baseConcurrency).filter(walks -> walks > 0).orElse(1);
+        this.cancellationToken = cancellationToken;
+        this.timeout = ofNullable(timeout)
+                .filter(limit -> !limit.isNegative() && !limit.isZero())
+                .orElse(Duration.ZERO);
     }
 
     /**
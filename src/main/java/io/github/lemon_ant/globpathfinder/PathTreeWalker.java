@@ -0,0 +1,341 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Lazy depth-first file tree walker — a drop-in replacement for {@link Files#find} that can prune subtrees.
+ *
+ * <h2>Why not {@code Files.find}</h2>
+ * <p>{@link Files#find} offers no way to skip a directory: its {@code BiPredicate} only decides whether an entry is
+ * emitted, while the walk still opens and reads every directory below. {@link Files#walkFileTree} supports
+ * {@code SKIP_SUBTREE}, but it is push-based and cannot back a lazy {@code Stream}. This walker is the pull-based
+ * equivalent of a {@link java.nio.file.FileVisitor} whose {@code preVisitDirectory} may answer {@code SKIP_SUBTREE}:
+ * {@link TreeWalkFilter#isDescended} is consulted before a directory is opened, and a rejected directory is still
+ * reported as an entry but never listed.</p>
+ *
+ * <p>The per-entry state of the {@link TreeWalkFilter} is kept on the stack of open directories, so that each
+ * entry's state is derived from its directory's state.</p>
+ *
+ * <h2>Compatibility with {@code Files.find}</h2>
+ * <ul>
+ *   <li>Pre-order traversal; the start path is reported first at depth {@code 0}.</li>
+ *   <li>Attributes are read following links when {@code followLinks} is set, falling back to the link itself for
+ *       dangling links.</li>
+ *   <li>Link cycles are reported as {@link FileSystemLoopException}.</li>
+ *   <li>Failures on the start path are thrown as {@link IOException} from {@link #find}; failures during iteration
+ *       are thrown as {@link UncheckedIOException}, so {@link IoTolerantPathStream} keeps working unchanged.</li>
+ *   <li>Closing the returned stream closes every directory stream that is still open.</li>
+ *   <li>A directory whose entries of interest the filter can name ({@link TreeWalkFilter#findCandidateNames}) is
+ *       not listed; those entries are looked up instead, and only the existing ones are visited.</li>
+ *   <li>A matched entry may be emitted together with the attributes read for it, through a result factory, instead
+ *       of as a bare path.</li>
+ * </ul>
+ *
+ * @param <S> the per-entry state of the walk's {@link TreeWalkFilter}
+ * @param <R> the type of the emitted results
+ */
+final class PathTreeWalker<S, R> implements Spliterator<R> {
+
+    /**
+     * Result factory of walks that emit the matched paths themselves.
+     */
+    static final BiFunction<Path, BasicFileAttributes, Path> PATH_RESULT = (path, attributes) -> path;
+
+    private final TreeWalkFilter<S> filter;
+    private final boolean followLinks;
+    private final int maxDepth;
+    private final Deque<OpenDirectory<S>> openDirectories = new ArrayDeque<>();
+    private final BiFunction<Path, BasicFileAttributes, R> resultFactory;
+
+    @Nullable
+    private Path pendingStart;
+
+    @Nullable
+    private BasicFileAttributes pendingStartAttributes;
+
+    @Nullable
+    private S pendingStartState;
+
+    private PathTreeWalker(
+            TreeWalkFilter<S> filter,
+            int maxDepth,
+            boolean followLinks,
+            BiFunction<Path, BasicFileAttributes, R> resultFactory) {
+        this.filter = filter;
+        this.maxDepth = maxDepth;
+        this.followLinks = followLinks;
+        this.resultFactory = resultFactory;
+    }
+
+    /**
+     * Walks the tree rooted at {@code start} and returns the entries accepted by {@code filter}.
+     *
+     * @param start       the starting path
+     * @param maxDepth    the maximum number of directory levels to visit
+     * @param filter      decides whether an entry is emitted and whether a directory is opened
+     * @param followLinks whether symbolic links are followed
+     * @param <S>         the per-entry state of {@code filter}
+     * @return a lazy stream of matched paths; the caller must close it to release directory handles
+     * @throws IOException if the start path cannot be read or opened
+     */
+    @NonNull
+    static <S> Stream<Path> find(
+            @NonNull Path start, int maxDepth, @NonNull TreeWalkFilter<S> filter, boolean followLinks)
+            throws IOException {
+        return find(start, maxDepth, filter, followLinks, PATH_RESULT);
+    }
+
+    /**
+     * Walks the tree rooted at {@code start} and returns a result for each entry accepted by {@code filter}, built
+     * from the entry and the attributes read for it.
+     *
+     * @param start         the starting path
+     * @param maxDepth      the maximum number of directory levels to visit
+     * @param filter        decides whether an entry is emitted and whether a directory is opened
+     * @param followLinks   whether symbolic links are followed
+     * @param resultFactory builds the result of a matched entry from its path and attributes
+     * @param <S>           the per-entry state of {@code filter}
+     * @param <R>           the type of the results
+     * @return a lazy stream of results; the caller must close it to release directory handles
+     * @throws IOException if the start path cannot be read or opened
+     */
+    @NonNull
+    static <S, R> Stream<R> find(
+            @NonNull Path start,
+            int maxDepth,
+            @NonNull TreeWalkFilter<S> filter,
+            boolean followLinks,
+            @NonNull BiFunction<Path, BasicFileAttributes, R> resultFactory)
+            throws IOException {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must be non-negative: " + maxDepth);
+        }
+        PathTreeWalker<S, R> walker = new PathTreeWalker<>(filter, maxDepth, followLinks, resultFactory);
+        BasicFileAttributes startAttributes = readAttributes(start, followLinks);
+        S startState = filter.startState(start);
+        walker.visit(start, startAttributes, startState, 0);
+        walker.pendingStart = start;
+        walker.pendingStartAttributes = startAttributes;
+        walker.pendingStartState = startState;
+        return StreamSupport.stream(walker, false).onClose(walker::close);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        Path start = pendingStart;
+        if (start != null) {
+            BasicFileAttributes startAttributes = pendingStartAttributes;
+            S startState = pendingStartState;
+            pendingStart = null;
+            pendingStartAttributes = null;
+            pendingStartState = null;
+            if (filter.isMatched(startState, start, startAttributes)) {
+                action.accept(resultFactory.apply(start, startAttributes));
+                return true;
+            }
+        }
+        while (!openDirectories.isEmpty()) {
+            OpenDirectory<S> current = openDirectories.peek();
+            Path child = nextChild(current);
+            if (child == null) {
+                continue;
+            }
+            BasicFileAttributes childAttributes;
+            S childState = filter.childState(current.state, child);
+            try {
+                childAttributes = readAttributes(child, followLinks);
+                visit(child, childAttributes, childState, openDirectories.size());
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+            if (filter.isMatched(childState, child, childAttributes)) {
+                action.accept(resultFactory.apply(child, childAttributes));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @Nullable
+    public Spliterator<R> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.DISTINCT | Spliterator.NONNULL;
+    }
+
+    /**
+     * Opens {@code path} for listing when it is a directory within {@code maxDepth} that the filter descends into;
+     * otherwise the path stays a leaf.
+     */
+    private void visit(Path path, BasicFileAttributes attributes, S state, int depth) throws IOException {
+        if (depth >= maxDepth || !attributes.isDirectory() || !filter.isDescended(state, path, attributes)) {
+            return;
+        }
+        Object fileKey = attributes.fileKey();
+        if (followLinks && wouldLoop(path, fileKey)) {
+            throw new FileSystemLoopException(path.toString());
+        }
+        DirectoryStream<Path> directoryStream = openDirectory(path, filter, state);
+        openDirectories.push(new OpenDirectory<>(path, fileKey, state, directoryStream));
+    }
+
+    /**
+     * Returns the next child of {@code directory}, or {@code null} after closing and popping an exhausted directory.
+     */
+    @Nullable
+    private Path nextChild(OpenDirectory<S> directory) {
+        try {
+            if (directory.iterator.hasNext()) {
+                return directory.iterator.next();
+            }
+        } catch (DirectoryIteratorException die) {
+            closeTop();
+            throw new UncheckedIOException(die.getCause());
+        }
+        closeTop();
+        return null;
+    }
+
+    /**
+     * Opens the entries of a descended directory: the candidates named by
+     * {@link TreeWalkFilter#findCandidateNames}, looked up one by one, or else a listing of the whole directory.
+     *
+     * @param directory the directory
+     * @param filter    the walk's filter
+     * @param state     the state of {@code directory}
+     * @param <S>       the per-entry state of {@code filter}
+     * @return the entries to visit; the caller must close it
+     * @throws IOException if the directory cannot be opened
+     */
+    @NonNull
+    static <S> DirectoryStream<Path> openDirectory(
+            @NonNull Path directory, @NonNull TreeWalkFilter<S> filter, @NonNull S state) throws IOException {
+        Collection<String> candidateNames = filter.findCandidateNames(state, directory);
+        return candidateNames == null
+                ? Files.newDirectoryStream(directory)
+                : new CandidateDirectoryStream(directory, candidateNames);
+    }
+
+    /**
+     * Reads basic attributes the way {@link Files#find} does: following links when requested, and falling back to
+     * the link itself when its target cannot be read (dangling link).
+     *
+     * @param path        the path to read
+     * @param followLinks whether symbolic links are followed
+     * @return the attributes of the target, or of the link itself
+     * @throws IOException if the attributes cannot be read at all
+     */
+    @NonNull
+    static BasicFileAttributes readAttributes(@NonNull Path path, boolean followLinks) throws IOException {
+        if (followLinks) {
+            try {
+                return Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (IOException followFailure) {
+                // Dangling link: report the link itself, as Files.find does.
+                return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            }
+        }
+        return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+    }
+
+    private boolean wouldLoop(Path directory, @Nullable Object fileKey) {
+        for (OpenDirectory<S> ancestor : openDirectories) {
+            if (fileKey != null && ancestor.fileKey != null) {
+                if (fileKey.equals(ancestor.fileKey)) {
+                    return true;
+                }
+            } else if (isSameFileQuietly(directory, ancestor.path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Loop-detection fallback for file systems without file keys; unreadable paths never count as the same file.
+     *
+     * @param first  the first path
+     * @param second the second path
+     * @return {@code true} if both paths locate the same file
+     */
+    static boolean isSameFileQuietly(@NonNull Path first, @NonNull Path second) {
+        try {
+            return Files.isSameFile(first, second);
+        } catch (IOException | SecurityException ignored) {
+            return false;
+        }
+    }
+
+    private void closeTop() {
+        OpenDirectory<S> top = openDirectories.pop();
+        try {
+            top.stream.close();
+        } catch (IOException closeFailure) {
+            throw new UncheckedIOException(closeFailure);
+        }
+    }
+
+    private void close() {
+        pendingStart = null;
+        pendingStartState = null;
+        while (!openDirectories.isEmpty()) {
+            try {
+                closeTop();
+            } catch (UncheckedIOException ignored) {
+                // keep closing the remaining handles
+            }
+        }
+    }
+
+    private static final class OpenDirectory<S> {
+
+        @Nullable
+        private final Object fileKey;
+
+        private final Iterator<Path> iterator;
+        private final Path path;
+        private final S state;
+        private final DirectoryStream<Path> stream;
+
+        private OpenDirectory(Path path, @Nullable Object fileKey, S state, DirectoryStream<Path> stream) {
+            this.path = path;
+            this.fileKey = fileKey;
+            this.state = state;
+            this.stream = stream;
+            this.iterator = stream.iterator();
+        }
+    }
+}
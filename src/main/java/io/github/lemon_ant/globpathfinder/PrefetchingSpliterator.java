@@ -0,0 +1,163 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Drains a source spliterator on a background producer thread into a bounded {@link PathBatchHandoff}, so that the
+ * directory reads behind the source run ahead of the consumer instead of waiting for each pull.
+ *
+ * <p>The producer starts on the first consumer call. It hands the elements it pulled to the consumer as one batch
+ * once it holds {@code batchSize} of them, or at once while the consumer has nothing queued, and it pauses while
+ * {@code queuedBatches} batches wait (backpressure). A failure of the source is rethrown to the consumer after the
+ * batches queued before it, as with {@link ParallelTreeWalker}. The source is only ever used by one thread: the
+ * producer, or the consumer's {@link #close()} if the producer never started.</p>
+ *
+ * <p>{@link #tryAdvanceUntil(Consumer, long)} lets {@link BatchingSpliterator} stop waiting for a full batch once its
+ * latency budget is spent.</p>
+ *
+ * @param <T> the element type
+ */
+@SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.DoNotUseThreads"})
+final class PrefetchingSpliterator<T> implements Spliterator<T> {
+
+    private final int batchSize;
+    private final PathBatchHandoff<T> handoff;
+    private final Spliterator<T> source;
+    private final Runnable sourceCloser;
+
+    @Nullable
+    private Thread producer;
+
+    private boolean closed;
+
+    /**
+     * Creates a prefetching view of {@code source}; no element is pulled before the first consumer call.
+     *
+     * @param source        the spliterator to drain; it must not be used by anyone else
+     * @param sourceCloser  releases the resources of {@code source}; run once, after the last pull
+     * @param batchSize     the largest number of elements handed over at once; must be positive
+     * @param queuedBatches the number of batches buffered before the producer pauses; must be positive
+     */
+    PrefetchingSpliterator(
+            @NonNull Spliterator<T> source, @NonNull Runnable sourceCloser, int batchSize, int queuedBatches) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        if (queuedBatches <= 0) {
+            throw new IllegalArgumentException("queuedBatches must be positive: " + queuedBatches);
+        }
+        this.source = source;
+        this.sourceCloser = sourceCloser;
+        this.batchSize = batchSize;
+        this.handoff = new PathBatchHandoff<>(queuedBatches);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (closed) {
+            return false;
+        }
+        startProducer();
+        return handoff.tryAdvance(action);
+    }
+
+    /**
+     * Performs {@code action} on the next element if the producer delivers one before {@code deadlineNanos}.
+     *
+     * @param action        the action to perform on the next element
+     * @param deadlineNanos the {@link System#nanoTime()} at which to stop waiting; a past deadline takes only an
+     *                      element that is already queued
+     * @return {@code true} if an element was consumed; {@code false} if the source is exhausted or the deadline
+     *         passed
+     */
+    boolean tryAdvanceUntil(Consumer<? super T> action, long deadlineNanos) {
+        if (closed) {
+            return false;
+        }
+        startProducer();
+        return handoff.tryAdvanceUntil(action, deadlineNanos);
+    }
+
+    @Override
+    @Nullable
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & ~SIZED & ~SUBSIZED;
+    }
+
+    /**
+     * Stops prefetching: queued elements are dropped, and the call returns once the producer has finished the pull
+     * in progress and closed the source. Further pulls find no elements.
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        handoff.cancel();
+        Thread started = producer;
+        if (started == null) {
+            sourceCloser.run();
+            return;
+        }
+        try {
+            started.join();
+        } catch (InterruptedException interrupted) {
+            // The producer still closes the source once its pull returns; only the wait for it is cut short.
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void startProducer() {
+        if (producer == null) {
+            Thread started = new Thread(this::produce, "glob-path-finder-prefetch");
+            started.setDaemon(true);
+            producer = started;
+            started.start();
+        }
+    }
+
+    private void produce() {
+        List<T> batch = new ArrayList<>(batchSize);
+        try {
+            try {
+                boolean pulled = true;
+                while (pulled && handoff.isActive()) {
+                    pulled = source.tryAdvance(batch::add);
+                    // Hand over early while the consumer waits, so a slow read that follows does not hold back the
+                    // elements already pulled.
+                    if (batch.size() >= batchSize || (!batch.isEmpty() && handoff.isDrained())) {
+                        handoff.publish(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            } finally {
+                // Elements pulled before the source ran out or failed still reach the consumer ahead of the end.
+                handoff.publish(batch);
+                sourceCloser.run();
+            }
+            handoff.complete();
+        } catch (RuntimeException | Error failure) {
+            handoff.fail(failure);
+        }
+    }
+}
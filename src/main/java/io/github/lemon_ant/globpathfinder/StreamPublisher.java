@@ -0,0 +1,203 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@link Flow.Publisher} over a stream that is opened per subscription and pulled one element per unit of demand.
+ *
+ * <p>Each subscription opens its own stream on the first {@link Flow.Subscription#request(long)} and pulls it only
+ * while demand is outstanding, so a lazy stream does no work the subscriber has not asked for. All stream calls and
+ * subscriber signals of a subscription run on the executor, one task at a time: a {@code request} or {@code cancel}
+ * only records the signal and schedules a drain task if none is running. The stream is closed when it is exhausted,
+ * when it fails, and on cancellation, before the next element would be pulled.</p>
+ *
+ * <p>A non-positive {@code request} cancels the subscription and signals an {@link IllegalArgumentException}; if the
+ * executor rejects a drain task, the subscription ends with the {@link RejectedExecutionException}.</p>
+ *
+ * @param <T> the element type
+ */
+@Slf4j
+@SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.AvoidUsingVolatile"})
+final class StreamPublisher<T> implements Flow.Publisher<T> {
+
+    private final Executor executor;
+    private final Supplier<Stream<T>> streamFactory;
+
+    /**
+     * @param streamFactory opens the stream of one subscription; called on the executor on the first request
+     * @param executor      runs the drain tasks that pull the stream and signal the subscriber
+     */
+    StreamPublisher(@NonNull Supplier<Stream<T>> streamFactory, @NonNull Executor executor) {
+        this.streamFactory = streamFactory;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(@NonNull Flow.Subscriber<? super T> subscriber) {
+        subscriber.onSubscribe(new StreamSubscription<>(subscriber, streamFactory, executor));
+    }
+
+    private static final class StreamSubscription<T> implements Flow.Subscription {
+
+        private final AtomicLong demand = new AtomicLong();
+        private final Executor executor;
+        private final AtomicInteger pendingSignals = new AtomicInteger();
+        private final Supplier<Stream<T>> streamFactory;
+        private final Flow.Subscriber<? super T> subscriber;
+
+        private volatile boolean cancelled;
+
+        @Nullable
+        private volatile IllegalArgumentException invalidRequest;
+
+        // Only touched by the drain task, which pendingSignals keeps to one at a time.
+        private boolean done;
+
+        @Nullable
+        private Stream<T> stream;
+
+        @Nullable
+        private Spliterator<T> elements;
+
+        StreamSubscription(
+                Flow.Subscriber<? super T> subscriber, Supplier<Stream<T>> streamFactory, Executor executor) {
+            this.subscriber = subscriber;
+            this.streamFactory = streamFactory;
+            this.executor = executor;
+        }
+
+        @Override
+        public void request(long count) {
+            if (count <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested element count must be positive: " + count);
+                cancelled = true;
+            } else {
+                demand.getAndUpdate(current -> Long.MAX_VALUE - current < count ? Long.MAX_VALUE : current + count);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            signal();
+        }
+
+        /**
+         * Schedules a drain task unless one is already running; a running task picks the new signal up before it
+         * ends.
+         */
+        private void signal() {
+            if (pendingSignals.getAndIncrement() != 0) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException rejected) {
+                // No drain task runs, and none is scheduled while pendingSignals stays raised, so this thread may end
+                // the subscription.
+                finish(rejected);
+            }
+        }
+
+        private void drain() {
+            int handledSignals = 1;
+            do {
+                emit();
+                handledSignals = pendingSignals.addAndGet(-handledSignals);
+            } while (handledSignals != 0);
+        }
+
+        private void emit() {
+            if (done) {
+                return;
+            }
+            if (cancelled) {
+                IllegalArgumentException invalid = invalidRequest;
+                if (invalid == null) {
+                    done = true;
+                    try {
+                        closeStream();
+                    } catch (RuntimeException closeFailure) {
+                        // A cancelled subscriber must not be signalled any more.
+                        log.warn("Failed to close the stream of a cancelled subscription", closeFailure);
+                    }
+                } else {
+                    finish(invalid);
+                }
+                return;
+            }
+            try {
+                Spliterator<T> source = open();
+                while (demand.get() > 0 && !cancelled) {
+                    if (!source.tryAdvance(subscriber::onNext)) {
+                        finish(null);
+                        return;
+                    }
+                    demand.decrementAndGet();
+                }
+            } catch (RuntimeException | Error failure) {
+                finish(failure);
+            }
+        }
+
+        @NonNull
+        private Spliterator<T> open() {
+            Spliterator<T> opened = elements;
+            if (opened == null) {
+                Stream<T> created = streamFactory.get();
+                stream = created;
+                opened = created.spliterator();
+                elements = opened;
+            }
+            return opened;
+        }
+
+        /**
+         * Closes the stream and sends the terminal signal: {@code onComplete} if {@code failure} is {@code null},
+         * {@code onError} otherwise.
+         */
+        private void finish(@Nullable Throwable failure) {
+            done = true;
+            Throwable terminal = failure;
+            try {
+                closeStream();
+            } catch (RuntimeException closeFailure) {
+                if (terminal == null) {
+                    terminal = closeFailure;
+                } else {
+                    terminal.addSuppressed(closeFailure);
+                }
+            }
+            if (terminal == null) {
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(terminal);
+            }
+        }
+
+        private void closeStream() {
+            Stream<T> opened = stream;
+            stream = null;
+            elements = null;
+            if (opened != null) {
+                opened.close();
+            }
+        }
+    }
+}
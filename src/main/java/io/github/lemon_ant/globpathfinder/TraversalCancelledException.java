@@ -0,0 +1,43 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+/**
+ * Thrown by the result stream of a traversal that was stopped by its {@link PathQuery#getCancellationToken()} or
+ * ran past its {@link PathQuery#getTimeout()}.
+ *
+ * <p>The traversal stops before its next directory read, whatever {@link PathQuery#isFailFastOnError()} says. The
+ * paths the stream returned before the exception are valid results, but not all of them; closing the stream
+ * releases the directories the traversal still holds open.</p>
+ */
+public class TraversalCancelledException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Whether the traversal ran past its timeout, rather than being cancelled through its token.
+     */
+    private final boolean timedOut;
+
+    /**
+     * @param message  the detail message
+     * @param timedOut {@code true} if the traversal ran past its timeout, {@code false} if its token was cancelled
+     */
+    TraversalCancelledException(String message, boolean timedOut) {
+        super(message);
+        this.timedOut = timedOut;
+    }
+
+    /**
+     * Tells whether the traversal ran past its {@link PathQuery#getTimeout()} rather than being cancelled through its
+     * {@link PathQuery#getCancellationToken()}.
+     *
+     * @return {@code true} for a timeout, {@code false} for a cancelled token
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+}
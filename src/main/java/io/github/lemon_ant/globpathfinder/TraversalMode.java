@@ -0,0 +1,31 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+/**
+ * Selects how {@link GlobPathFinder} walks each base directory.
+ *
+ * <p>The mode only affects how directories are <em>read</em>. Filtering, deduplication and the parallel splitting
+ * of the returned stream are the same in every mode. In either mode the walks are pulled by the threads that consume
+ * the stream, unless {@link PathQuery#getPrefetchBatches()} hands them to a background thread that reads ahead.</p>
+ */
+public enum TraversalMode {
+
+    /**
+     * One lazy depth-first walk per base, driven by the thread that consumes the stream. Directories are read only
+     * as far as the consumer pulls, and results keep the pre-order of the walk. This is the default.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Directories are listed concurrently, at most {@link PathQuery#getTraversalParallelism()} at a time. On Java 21+
+     * each listing runs on its own virtual thread, so blocking directory reads on slow or network file systems do
+     * not hold platform threads; on older runtimes a {@link java.util.concurrent.ForkJoinPool} of that many threads
+     * is used, one task per subdirectory with work stealing. Results are handed to the consuming stream through a
+     * bounded queue, so the walk runs ahead of the consumer by at most a few batches. Result order is unspecified.
+     */
+    PARALLEL
+}
@@ -0,0 +1,79 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Entry filter of a tree walk that carries a state from every directory down to its entries.
+ *
+ * <p>The walkers compute the state of the start path once, then derive each entry's state from the state of the
+ * directory that listed it. A filter can thereby keep per-directory work — such as the live positions of glob
+ * patterns — and spend only one step on the entry's own name instead of re-examining the whole path.</p>
+ *
+ * @param <S> the per-entry state; walkers never inspect it
+ */
+interface TreeWalkFilter<S> {
+
+    /**
+     * Computes the state of the walk's start path.
+     *
+     * @param start the start path
+     * @return the state of {@code start}
+     */
+    @NonNull
+    S startState(@NonNull Path start);
+
+    /**
+     * Derives the state of an entry from the state of its directory.
+     *
+     * @param directoryState the state of the directory that listed {@code child}
+     * @param child          the entry, as returned by the directory listing
+     * @return the state of {@code child}
+     */
+    @NonNull
+    S childState(@NonNull S directoryState, @NonNull Path child);
+
+    /**
+     * Decides whether an entry is emitted (same contract as the matcher of {@link java.nio.file.Files#find}).
+     *
+     * @param state      the state of {@code path}
+     * @param path       the entry
+     * @param attributes the attributes of {@code path}
+     * @return {@code true} to emit {@code path}
+     */
+    boolean isMatched(@NonNull S state, @NonNull Path path, @NonNull BasicFileAttributes attributes);
+
+    /**
+     * Decides whether a directory within the depth limit is listed; {@code false} skips its whole subtree.
+     *
+     * @param state      the state of {@code directory}
+     * @param directory  the directory
+     * @param attributes the attributes of {@code directory}
+     * @return {@code true} to list {@code directory}
+     */
+    boolean isDescended(@NonNull S state, @NonNull Path directory, @NonNull BasicFileAttributes attributes);
+
+    /**
+     * Names the only entries of a descended directory that can be emitted or lead to emitted entries, so that the
+     * walker looks each of them up instead of listing the directory. Missing entries are skipped.
+     *
+     * <p>Every walker calls this right before it reads a directory, and a runtime exception thrown here ends the walk
+     * and reaches the consumer, as {@link CancellableWalkFilter} relies on.</p>
+     *
+     * @param state     the state of {@code directory}
+     * @param directory the directory about to be read
+     * @return the candidate entry names, or {@code null} to list the directory; the default always lists
+     */
+    @Nullable
+    default Collection<String> findCandidateNames(@NonNull S state, @NonNull Path directory) {
+        return null;
+    }
+}
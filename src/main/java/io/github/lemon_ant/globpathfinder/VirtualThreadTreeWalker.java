@@ -0,0 +1,64 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Virtual-thread traversal engine for {@link TraversalMode#PARALLEL}.
+ *
+ * <p>The real engine lives in the Java 21 layer of the multi-release JAR
+ * ({@code META-INF/versions/21}, built from {@code src/main/java21}). This Java 11 fallback is loaded on older
+ * runtimes and when the classes are used outside the JAR; it reports {@link #isAvailable()} as {@code false} and
+ * walks on a {@link ParallelTreeWalker} pool instead, so a call from any runtime returns the same results. Both
+ * versions must keep the same signature.</p>
+ */
+@UtilityClass
+class VirtualThreadTreeWalker {
+
+    /**
+     * Tells whether virtual threads are available on this runtime.
+     *
+     * @return always {@code false} in the Java 11 layer
+     */
+    static boolean isAvailable() {
+        return false;
+    }
+
+    /**
+     * Walks the tree rooted at {@code start} on virtual threads and emits a result built from each matched entry and
+     * its attributes; in the Java 11 layer, walks with {@link ParallelTreeWalker} on a pool of {@code parallelism}
+     * threads instead.
+     *
+     * @param start         the starting path
+     * @param maxDepth      the maximum number of directory levels to visit
+     * @param filter        decides whether an entry is emitted and whether a directory is listed
+     * @param followLinks   whether symbolic links are followed
+     * @param parallelism   the maximum number of concurrent directory listings; must be positive
+     * @param resultFactory builds the result of a matched entry from its path and attributes
+     * @param <S>           the per-entry state of {@code filter}
+     * @param <R>           the type of the results
+     * @return a stream of results in unspecified order; the caller must close it to stop the walk
+     * @throws IOException if the start path cannot be read or opened
+     */
+    @NonNull
+    static <S, R> Stream<R> find(
+            @NonNull Path start,
+            int maxDepth,
+            @NonNull TreeWalkFilter<S> filter,
+            boolean followLinks,
+            int parallelism,
+            @NonNull BiFunction<Path, BasicFileAttributes, R> resultFactory)
+            throws IOException {
+        return ParallelTreeWalker.find(start, maxDepth, filter, followLinks, parallelism, resultFactory);
+    }
+}
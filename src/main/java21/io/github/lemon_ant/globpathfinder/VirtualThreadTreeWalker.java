@@ -0,0 +1,301 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static io.github.lemon_ant.globpathfinder.PathTreeWalker.openDirectory;
+import static io.github.lemon_ant.globpathfinder.PathTreeWalker.readAttributes;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Virtual-thread traversal engine for {@link TraversalMode#PARALLEL} (Java 21 layer of the multi-release JAR).
+ *
+ * <p>Directories are listed on at most {@code parallelism} virtual threads, so a listing blocked in
+ * {@code readdir}/{@code stat} on a slow or network file system parks a cheap virtual thread instead of pinning a
+ * platform thread; thousands of concurrent listings cost no platform threads. Each thread keeps taking directories
+ * from a shared deque of pending directories until it runs dry, and a new thread is only started while fewer than
+ * {@code parallelism} are running, so the bound applies to scheduled work, not only to listings in progress. The
+ * deque is taken last-in first-out, which keeps the walk depth-first and the deque small. Results reach the consuming
+ * stream through a bounded {@link PathBatchHandoff}, exactly as with {@link ParallelTreeWalker}, whose matching,
+ * pruning, depth, link handling and error reporting this engine shares.</p>
+ *
+ * <p>The Java 11 layer ships a fallback with the same signatures whose {@link #isAvailable()} is
+ * {@code false} and whose {@link #find} walks with {@link ParallelTreeWalker}.</p>
+ */
+@UtilityClass
+class VirtualThreadTreeWalker {
+
+    /**
+     * Batches buffered per listing thread before directory listing pauses for the consumer.
+     */
+    private static final int QUEUED_BATCHES_PER_LISTING = 4;
+
+    /**
+     * Tells whether virtual threads are available on this runtime.
+     *
+     * @return always {@code true} in the Java 21 layer
+     */
+    static boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Walks the tree rooted at {@code start} on at most {@code parallelism} virtual threads, carrying the state of
+     * {@code filter} down the tree, and emits a result built from each matched entry and its attributes.
+     *
+     * @param start         the starting path
+     * @param maxDepth      the maximum number of directory levels to visit
+     * @param filter        decides whether an entry is emitted and whether a directory is listed
+     * @param followLinks   whether symbolic links are followed
+     * @param parallelism   the maximum number of concurrent directory listings; must be positive
+     * @param resultFactory builds the result of a matched entry from its path and attributes
+     * @param <S>           the per-entry state of {@code filter}
+     * @param <R>           the type of the results
+     * @return a stream of results in unspecified order; the caller must close it to stop the walk
+     * @throws IOException if the start path cannot be read or opened
+     */
+    @NonNull
+    static <S, R> Stream<R> find(
+            @NonNull Path start,
+            int maxDepth,
+            @NonNull TreeWalkFilter<S> filter,
+            boolean followLinks,
+            int parallelism,
+            @NonNull BiFunction<Path, BasicFileAttributes, R> resultFactory)
+            throws IOException {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must be non-negative: " + maxDepth);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        PathBatchHandoff<R> handoff = new PathBatchHandoff<>(parallelism * QUEUED_BATCHES_PER_LISTING);
+
+        // Read and open the start synchronously so that start failures surface from find(), as with Files.find.
+        BasicFileAttributes startAttributes = readAttributes(start, followLinks);
+        S startState = filter.startState(start);
+        if (filter.isMatched(startState, start, startAttributes)) {
+            handoff.publish(List.of(resultFactory.apply(start, startAttributes)));
+        }
+        if (maxDepth == 0
+                || !startAttributes.isDirectory()
+                || !filter.isDescended(startState, start, startAttributes)) {
+            handoff.complete();
+            return StreamSupport.stream(handoff, false).onClose(handoff::cancel);
+        }
+        DirectoryStream<Path> startListing = openDirectory(start, filter, startState);
+
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("glob-path-finder-", 0).factory());
+        Walk<S, R> walk = new Walk<>(filter, maxDepth, followLinks, resultFactory, handoff, parallelism, executor);
+        walk.schedule(new PendingDirectory<>(
+                start, startListing, startState, 0, DirectoryAncestors.root(start, startAttributes)));
+        return StreamSupport.stream(handoff, false).onClose(() -> {
+            handoff.cancel();
+            executor.shutdownNow();
+        });
+    }
+
+    /**
+     * A directory waiting to be listed.
+     */
+    @Value
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class PendingDirectory<S> {
+
+        Path path;
+
+        @Nullable
+        DirectoryStream<Path> openedListing;
+
+        S state;
+        int depth;
+        DirectoryAncestors ancestors;
+    }
+
+    /**
+     * State shared by all listing threads of one walk.
+     */
+    private static final class Walk<S, R> {
+
+        private final ExecutorService executor;
+        private final TreeWalkFilter<S> filter;
+        private final boolean followLinks;
+        private final PathBatchHandoff<R> handoff;
+        private final int maxDepth;
+        private final int parallelism;
+        private final Deque<PendingDirectory<S>> pending = new ArrayDeque<>();
+        private final BiFunction<Path, BasicFileAttributes, R> resultFactory;
+
+        /**
+         * Listing threads started and not yet retired; guarded by {@link #pending}.
+         */
+        private int running;
+
+        private Walk(
+                TreeWalkFilter<S> filter,
+                int maxDepth,
+                boolean followLinks,
+                BiFunction<Path, BasicFileAttributes, R> resultFactory,
+                PathBatchHandoff<R> handoff,
+                int parallelism,
+                ExecutorService executor) {
+            this.filter = filter;
+            this.maxDepth = maxDepth;
+            this.followLinks = followLinks;
+            this.resultFactory = resultFactory;
+            this.handoff = handoff;
+            this.parallelism = parallelism;
+            this.executor = executor;
+        }
+
+        /**
+         * Lists {@code directory} on a new virtual thread if fewer than {@code parallelism} are running; otherwise
+         * queues it for the next thread that finishes a listing.
+         */
+        private void schedule(PendingDirectory<S> directory) {
+            synchronized (pending) {
+                if (running >= parallelism) {
+                    pending.push(directory);
+                    return;
+                }
+                running++;
+            }
+            try {
+                executor.execute(() -> run(directory));
+            } catch (RejectedExecutionException rejected) {
+                // The stream was closed and the executor shut down; nobody is waiting for this subtree.
+                closeQuietly(directory.getOpenedListing());
+                retire();
+            }
+        }
+
+        /**
+         * Lists {@code first}, then pending directories until none is left; the last thread to retire completes the
+         * hand-off and shuts the executor down.
+         */
+        private void run(PendingDirectory<S> first) {
+            try {
+                PendingDirectory<S> next = first;
+                while (next != null) {
+                    list(next);
+                    next = takePendingOrRetire();
+                }
+            } catch (RuntimeException | Error failure) {
+                handoff.fail(failure);
+                retire();
+            }
+        }
+
+        /**
+         * Takes the next pending directory, or retires this thread if there is none. Only running threads queue
+         * directories, and each takes from the deque after queueing, so the deque is empty once no thread runs.
+         */
+        @Nullable
+        private PendingDirectory<S> takePendingOrRetire() {
+            synchronized (pending) {
+                PendingDirectory<S> next = pending.poll();
+                if (next != null) {
+                    return next;
+                }
+            }
+            retire();
+            return null;
+        }
+
+        private void retire() {
+            boolean last;
+            synchronized (pending) {
+                running--;
+                last = running == 0;
+            }
+            if (last) {
+                handoff.complete();
+                executor.shutdown();
+            }
+        }
+
+        private void list(PendingDirectory<S> directory) {
+            if (!handoff.isActive()) {
+                closeQuietly(directory.getOpenedListing());
+                return;
+            }
+            List<R> matched = new ArrayList<>();
+            List<PendingDirectory<S>> childDirectories = new ArrayList<>();
+            DirectoryStream<Path> openedListing = directory.getOpenedListing();
+            try (DirectoryStream<Path> listing = openedListing != null
+                    ? openedListing
+                    : openDirectory(directory.getPath(), filter, directory.getState())) {
+                for (Path child : listing) {
+                    if (!handoff.isActive()) {
+                        return;
+                    }
+                    BasicFileAttributes childAttributes = readAttributes(child, followLinks);
+                    S childState = filter.childState(directory.getState(), child);
+                    if (directory.getDepth() + 1 < maxDepth
+                            && childAttributes.isDirectory()
+                            && filter.isDescended(childState, child, childAttributes)) {
+                        Object childKey = childAttributes.fileKey();
+                        if (followLinks && directory.getAncestors().contains(child, childKey)) {
+                            throw new FileSystemLoopException(child.toString());
+                        }
+                        childDirectories.add(new PendingDirectory<>(
+                                child,
+                                null,
+                                childState,
+                                directory.getDepth() + 1,
+                                directory.getAncestors().child(child, childKey)));
+                    }
+                    if (filter.isMatched(childState, child, childAttributes)) {
+                        matched.add(resultFactory.apply(child, childAttributes));
+                    }
+                }
+            } catch (IOException ioe) {
+                handoff.fail(ioe);
+                return;
+            } catch (DirectoryIteratorException die) {
+                handoff.fail(die.getCause());
+                return;
+            }
+            if (handoff.publish(matched)) {
+                for (PendingDirectory<S> childDirectory : childDirectories) {
+                    schedule(childDirectory);
+                }
+            }
+        }
+
+        private static void closeQuietly(@Nullable DirectoryStream<Path> listing) {
+            if (listing != null) {
+                try {
+                    listing.close();
+                } catch (IOException ignored) {
+                    // the walk is already over; nothing left to report to
+                }
+            }
+        }
+    }
+}
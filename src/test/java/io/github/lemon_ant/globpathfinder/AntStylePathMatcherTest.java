@@ -9,8 +9,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.util.Collections;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -335,4 +337,66 @@ class AntStylePathMatcherTest {
             assertThat(matcher.matches(Path.of("Foo.java"))).isFalse();
         }
     }
+
+    @Nested
+    class SegmentScanning {
+
+        @Test
+        void matches_backslashSeparatedPath_splitsSegmentsLikeSlashes() {
+            // Given
+            PathMatcher matcher = AntStylePathMatcher.compile("src/**/*.java");
+
+            // When / Then
+            assertThat(matcher.matches(Path.of("src\\main\\Foo.java"))).isTrue();
+            assertThat(matcher.matches(Path.of("src\\main\\Foo.kt"))).isFalse();
+        }
+
+        @Test
+        void matches_repeatedSeparatorsInPath_ignoresEmptySegments() {
+            // Given
+            PathMatcher matcher = AntStylePathMatcher.compile("a/*/c");
+
+            // When / Then
+            assertThat(matcher.matches(Path.of("a\\\\b\\c"))).isTrue();
+        }
+
+        @Test
+        void matches_patternWiderThanBitSet_keepsSemantics() {
+            // Given
+            String wideLiteralPattern = String.join("/", Collections.nCopies(70, "d")) + "/*.txt";
+            PathMatcher matcher = AntStylePathMatcher.compile("**/" + wideLiteralPattern);
+            Path matchingPath = Path.of("root/" + wideLiteralPattern.replace("*", "file"));
+
+            // When / Then
+            assertThat(matcher.matches(matchingPath)).isTrue();
+            assertThat(matcher.matches(matchingPath.getParent())).isFalse();
+        }
+    }
+
+    @Nested
+    @Timeout(5)
+    class PathologicalPatterns {
+
+        @Test
+        void matches_manyStarsAgainstLongSegment_completesInPolynomialTime() {
+            // Given
+            PathMatcher matcher = AntStylePathMatcher.compile("*a*a*a*a*a*a*a*a*a*a*a*a*b");
+            Path longSegment = Path.of("a".repeat(10_000));
+
+            // When / Then
+            assertThat(matcher.matches(longSegment)).isFalse();
+            assertThat(matcher.matches(Path.of("a".repeat(10_000) + "b"))).isTrue();
+        }
+
+        @Test
+        void matches_manyDoubleStarsAgainstDeepPath_completesInPolynomialTime() {
+            // Given
+            PathMatcher matcher = AntStylePathMatcher.compile("**/a/**/a/**/a/**/a/**/a/**/a/**/b");
+            String deepPath = String.join("/", Collections.nCopies(5_000, "a"));
+
+            // When / Then
+            assertThat(matcher.matches(Path.of(deepPath))).isFalse();
+            assertThat(matcher.matches(Path.of(deepPath + "/b"))).isTrue();
+        }
+    }
 }
@@ -0,0 +1,271 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static io.github.lemon_ant.globpathfinder.PatternSetHelper.accepts;
+import static io.github.lemon_ant.globpathfinder.PatternSetHelper.compilePatterns;
+import static io.github.lemon_ant.globpathfinder.PatternSetHelper.statesOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.PathMatcher;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class AntStylePatternSetTest {
+
+    @Test
+    void accepts_emptySet_returnsFalse() {
+        // Given
+        AntStylePatternSet patternSet = AntStylePatternSet.of(Set.of());
+
+        // When / Then
+        assertThat(patternSet.isEmpty()).isTrue();
+        assertThat(accepts(patternSet, "any/file.txt")).isFalse();
+        assertThat(patternSet.mayMatchDescendants(patternSet.initialStates())).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"src/Foo.java", "docs/guide.md", "a/b/node_modules/x.js"})
+    void accepts_pathMatchedByOnePattern_returnsTrue(String path) {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("src/**/*.java", "docs/*.md", "**/node_modules/**");
+
+        // When / Then
+        assertThat(accepts(patternSet, path)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"src/Foo.kt", "docs/sub/guide.md", "lib/modules/x.js"})
+    void accepts_pathMatchedByNoPattern_returnsFalse(String path) {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("src/**/*.java", "docs/*.md", "**/node_modules/**");
+
+        // When / Then
+        assertThat(accepts(patternSet, path)).isFalse();
+    }
+
+    @Test
+    void accepts_patternsShareLiteralSegment_eachPatternAdvances() {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("node_modules", "**/node_modules", "a/node_modules/*.js");
+
+        // When / Then
+        assertThat(accepts(patternSet, "node_modules")).isTrue();
+        assertThat(accepts(patternSet, "b/node_modules")).isTrue();
+        assertThat(accepts(patternSet, "a/node_modules/x.js")).isTrue();
+        assertThat(accepts(patternSet, "b/node_modules/x.js")).isFalse();
+    }
+
+    @Test
+    void accepts_statesSpanSeveralWords_matchesEveryPattern() {
+        // Given: 40 patterns of three segments each need 160 states, i.e. three bit-set words
+        List<String> patterns = IntStream.range(0, 40)
+                .mapToObj(index -> "dir" + index + "/**/*.ext" + index)
+                .collect(Collectors.toList());
+        AntStylePatternSet patternSet = compilePatterns(patterns.toArray(new String[0]));
+
+        // When / Then
+        for (int index = 0; index < patterns.size(); index++) {
+            assertThat(accepts(patternSet, "dir" + index + "/a/b/file.ext" + index)).isTrue();
+            assertThat(accepts(patternSet, "dir" + index + "/a/b/file.ext" + (index + 1))).isFalse();
+        }
+    }
+
+    @Test
+    void of_foreignMatcher_throwsIllegalArgumentException() {
+        // Given
+        PathMatcher foreignMatcher = path -> path.endsWith("special");
+        List<PathMatcher> matchers = List.of(AntStylePathMatcher.compile("*.txt"), foreignMatcher);
+
+        // When / Then
+        assertThatThrownBy(() -> AntStylePatternSet.of(matchers))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Not an AntStylePathMatcher");
+    }
+
+    @Test
+    void advance_entryNameAfterDirectoryStates_agreesWithFullPathMatch() {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("src/**/*.java", "**/test/*");
+        String directory = "src/main/test";
+        long[] directoryStates = statesOf(patternSet, directory);
+
+        // When
+        long[] javaStates = patternSet.advance(directoryStates, directory + "/Foo.java", directory.length());
+        long[] textStates = patternSet.advance(directoryStates, directory + "/deeper/notes.txt", directory.length());
+
+        // Then
+        assertThat(patternSet.accepts(javaStates)).isTrue();
+        assertThat(patternSet.accepts(textStates)).isFalse();
+        assertThat(patternSet.mayMatchDescendants(directoryStates)).isTrue();
+    }
+
+    @Test
+    void mayMatchDescendants_directoryOnSomePatternPath_returnsTrue() {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("docs/*.md", "*/main/**");
+
+        // When / Then
+        assertThat(patternSet.mayMatchDescendants(statesOf(patternSet, "docs"))).isTrue();
+        assertThat(patternSet.mayMatchDescendants(statesOf(patternSet, "foo/main/java"))).isTrue();
+        assertThat(patternSet.mayMatchDescendants(statesOf(patternSet, "foo/test"))).isFalse();
+        assertThat(patternSet.mayMatchDescendants(statesOf(patternSet, "docs/sub"))).isFalse();
+    }
+
+    @Test
+    void matchesAllDescendants_trailingDoubleStarReached_returnsTrue() {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("**/target/**", "build/*.log");
+
+        // When / Then
+        assertThat(patternSet.matchesAllDescendants(statesOf(patternSet, "module/target"))).isTrue();
+        assertThat(patternSet.matchesAllDescendants(statesOf(patternSet, "module/target/classes"))).isTrue();
+        assertThat(patternSet.matchesAllDescendants(statesOf(patternSet, "build"))).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"node_modules", "web/node_modules", "web/node_modules/lib"})
+    void matchesAllDescendants_directoryInsideExcludedTree_returnsTrue(String directory) {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("**/node_modules/**");
+
+        // When / Then
+        assertThat(patternSet.matchesAllDescendants(statesOf(patternSet, directory))).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "web", "node_modules_old", "web/modules"})
+    void matchesAllDescendants_directoryOutsideExcludedTree_returnsFalse(String directory) {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("**/node_modules/**");
+
+        // When / Then
+        assertThat(patternSet.matchesAllDescendants(statesOf(patternSet, directory))).isFalse();
+    }
+
+    @Test
+    void matchesAllDescendants_patternWithoutTrailingDoubleStar_returnsFalse() {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("**/node_modules/*.js");
+
+        // When / Then
+        assertThat(patternSet.matchesAllDescendants(statesOf(patternSet, "node_modules"))).isFalse();
+    }
+
+    @Test
+    void matchesAllDescendants_matchAllPattern_returnsTrueForBase() {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("**");
+
+        // When / Then
+        assertThat(patternSet.matchesAllDescendants(patternSet.initialStates())).isTrue();
+    }
+
+    @Test
+    void matchesAllDescendants_absolutePatternAndNestedDirectory_returnsTrue() {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("/work/target/**");
+
+        // When / Then
+        assertThat(patternSet.matchesAllDescendants(statesOf(patternSet, "/work/target"))).isTrue();
+        assertThat(patternSet.matchesAllDescendants(statesOf(patternSet, "/work/target/classes"))).isTrue();
+        assertThat(patternSet.matchesAllDescendants(statesOf(patternSet, "/work"))).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "foo", "foo/main", "foo/main/java/com"})
+    void mayMatchDescendants_directoryOnPatternPath_returnsTrue(String directory) {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("*/main/**/*.java");
+
+        // When / Then
+        assertThat(patternSet.mayMatchDescendants(statesOf(patternSet, directory))).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"foo/test", "foo/docs/main", "foo/test/main/java"})
+    void mayMatchDescendants_directoryOffPatternPath_returnsFalse(String directory) {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("*/main/**/*.java");
+
+        // When / Then
+        assertThat(patternSet.mayMatchDescendants(statesOf(patternSet, directory))).isFalse();
+    }
+
+    @Test
+    void mayMatchDescendants_directoryConsumesWholePattern_returnsFalse() {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("*/pom.xml");
+
+        // When / Then
+        assertThat(patternSet.mayMatchDescendants(statesOf(patternSet, "module"))).isTrue();
+        assertThat(patternSet.mayMatchDescendants(statesOf(patternSet, "module/pom.xml"))).isFalse();
+        assertThat(patternSet.mayMatchDescendants(statesOf(patternSet, "module/sub"))).isFalse();
+    }
+
+    @Test
+    void mayMatchDescendants_patternWiderThanOneWord_keepsSemantics() {
+        // Given
+        String wideLiteralPattern = String.join("/", Collections.nCopies(70, "d")) + "/*.txt";
+        AntStylePatternSet patternSet = compilePatterns("**/" + wideLiteralPattern);
+        String matchingPath = "root/" + wideLiteralPattern.replace("*", "file");
+        String parent = matchingPath.substring(0, matchingPath.lastIndexOf('/'));
+
+        // When / Then
+        assertThat(accepts(patternSet, matchingPath)).isTrue();
+        assertThat(accepts(patternSet, parent)).isFalse();
+        assertThat(patternSet.mayMatchDescendants(statesOf(patternSet, parent))).isTrue();
+        assertThat(patternSet.matchesAllDescendants(statesOf(patternSet, parent))).isFalse();
+    }
+
+    @Test
+    void collectNextLiterals_everyLiveStateExpectsLiteral_collectsNames() {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("*/pom.xml", "*/src/main", "docs/*.md");
+        long[] directoryStates = statesOf(patternSet, "module");
+        Set<String> names = new HashSet<>();
+
+        // When
+        boolean collected = patternSet.collectNextLiterals(directoryStates, names);
+
+        // Then
+        assertThat(collected).isTrue();
+        assertThat(names).containsExactlyInAnyOrder("pom.xml", "src");
+    }
+
+    @Test
+    void collectNextLiterals_someLiveStateExpectsWildcard_returnsFalse() {
+        // Given
+        AntStylePatternSet patternSet = compilePatterns("*/pom.xml", "src/**/*.java");
+        long[] srcStates = statesOf(patternSet, "src");
+        long[] moduleStates = statesOf(patternSet, "module");
+
+        // When / Then
+        assertThat(patternSet.collectNextLiterals(patternSet.initialStates(), new HashSet<>())).isFalse();
+        assertThat(patternSet.collectNextLiterals(srcStates, new HashSet<>())).isFalse();
+        assertThat(patternSet.collectNextLiterals(moduleStates, new HashSet<>())).isTrue();
+    }
+
+    @Test
+    void getMaxMatchDepth_patternsWithoutDoubleStar_returnsLongestPattern() {
+        // Given
+        AntStylePatternSet bounded = compilePatterns("*/pom.xml", "modules/*/src/*", "*.md");
+        AntStylePatternSet unbounded = compilePatterns("*/pom.xml", "src/**/*.java");
+
+        // When / Then
+        assertThat(bounded.getMaxMatchDepth()).isEqualTo(4);
+        assertThat(unbounded.getMaxMatchDepth()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(compilePatterns().getMaxMatchDepth()).isZero();
+    }
+}
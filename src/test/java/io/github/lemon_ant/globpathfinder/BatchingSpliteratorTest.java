@@ -9,8 +9,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 class BatchingSpliteratorTest {
@@ -37,6 +44,14 @@ class BatchingSpliteratorTest {
                 .hasMessageContaining("batchSize must be positive");
     }
 
+    @Test
+    void constructor_maxBatchSizeBelowBatchSize_throwsIllegalArgumentException() {
+        // When / Then
+        assertThatThrownBy(() -> new BatchingSpliterator<>(List.of("a").spliterator(), 4, 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("maxBatchSize must not be less than batchSize");
+    }
+
     @Test
     void tryAdvance_withElements_consumesOneElement() {
         // Given
@@ -110,6 +125,59 @@ class BatchingSpliteratorTest {
         assertThat(batchElements).containsExactly("a", "b");
     }
 
+    @Test
+    void trySplit_growingBatchSize_growsByInitialSizeUpToMax() {
+        // Given
+        List<Integer> elements = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+        BatchingSpliterator<Integer> spliterator = new BatchingSpliterator<>(elements.spliterator(), 2, 5);
+
+        // When
+        List<Long> batchSizes = new ArrayList<>();
+        for (Spliterator<Integer> batch = spliterator.trySplit(); batch != null; batch = spliterator.trySplit()) {
+            batchSizes.add(batch.estimateSize());
+        }
+
+        // Then
+        assertThat(batchSizes).containsExactly(2L, 4L, 5L, 5L, 4L);
+    }
+
+    @Test
+    void trySplit_latencyBudgetPassed_returnsElementsDeliveredSoFar() {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        Spliterator<String> stalling = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, 0) {
+            private final Iterator<String> first = List.of("a", "b").iterator();
+
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action) {
+                if (first.hasNext()) {
+                    action.accept(first.next());
+                    return true;
+                }
+                try {
+                    release.await();
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        };
+        PrefetchingSpliterator<String> prefetched = new PrefetchingSpliterator<>(stalling, () -> {}, 1, 4);
+        BatchingSpliterator<String> spliterator =
+                new BatchingSpliterator<>(prefetched, 10, 10, TimeUnit.MILLISECONDS.toNanos(20));
+
+        // When
+        Spliterator<String> batch = spliterator.trySplit();
+
+        // Then
+        release.countDown();
+        prefetched.close();
+        assertThat(batch).isNotNull();
+        List<String> batchElements = new ArrayList<>();
+        batch.forEachRemaining(batchElements::add);
+        assertThat(batchElements).containsExactly("a", "b");
+    }
+
     @Test
     void forEachRemaining_withElements_consumesAll() {
         // Given
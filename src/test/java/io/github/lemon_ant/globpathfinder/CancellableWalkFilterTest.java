@@ -0,0 +1,83 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.createFile;
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.walkFilter;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CancellableWalkFilterTest {
+
+    private static final BiPredicate<Path, BasicFileAttributes> ACCEPT_ALL = (path, attrs) -> true;
+    private static final TreeWalkFilter<Path> ACCEPT_ALL_FILTER = walkFilter(ACCEPT_ALL, ACCEPT_ALL);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void findCandidateNames_neitherCancelledNorTimedOut_delegates() {
+        // Given
+        CancellableWalkFilter<Path> filter = new CancellableWalkFilter<>(
+                ACCEPT_ALL_FILTER, new CancellationToken(), System.nanoTime(), TimeUnit.MINUTES.toNanos(1));
+
+        // When
+        Collection<String> candidateNames = filter.findCandidateNames(tempDir, tempDir);
+
+        // Then
+        assertThat(candidateNames).isNull();
+    }
+
+    @Test
+    void findCandidateNames_timeoutPassed_throwsTimedOutException() {
+        // Given
+        long startNanos = System.nanoTime() - TimeUnit.SECONDS.toNanos(2);
+        CancellableWalkFilter<Path> filter =
+                new CancellableWalkFilter<>(ACCEPT_ALL_FILTER, null, startNanos, TimeUnit.SECONDS.toNanos(1));
+
+        // When / Then
+        assertThatThrownBy(() -> filter.findCandidateNames(tempDir, tempDir))
+                .isInstanceOfSatisfying(
+                        TraversalCancelledException.class,
+                        cancelled -> assertThat(cancelled.isTimedOut()).isTrue())
+                .hasMessageContaining(tempDir.toString());
+    }
+
+    @Test
+    void find_tokenCancelledMidWalk_throwsBeforeNextDirectoryRead() throws IOException {
+        // Given
+        createFile(tempDir, "a/A.java");
+        createFile(tempDir, "b/B.java");
+        CancellationToken cancellationToken = new CancellationToken();
+        CancellableWalkFilter<Path> filter =
+                new CancellableWalkFilter<>(ACCEPT_ALL_FILTER, cancellationToken, System.nanoTime(), 0);
+
+        try (Stream<Path> paths = PathTreeWalker.find(tempDir, Integer.MAX_VALUE, filter, false)) {
+            Iterator<Path> iterator = paths.iterator();
+            assertThat(iterator.next()).isEqualTo(tempDir);
+
+            // When
+            cancellationToken.cancel();
+
+            // Then
+            assertThatThrownBy(() -> iterator.forEachRemaining(path -> {}))
+                    .isInstanceOfSatisfying(
+                            TraversalCancelledException.class,
+                            cancelled -> assertThat(cancelled.isTimedOut()).isFalse());
+        }
+    }
+}
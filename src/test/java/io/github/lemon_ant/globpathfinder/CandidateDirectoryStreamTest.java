@@ -0,0 +1,88 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.createFile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CandidateDirectoryStreamTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void iterator_existingAndMissingNames_yieldsExistingEntriesInNameOrder() throws IOException {
+        // Given
+        createFile(tempDir, "pom.xml");
+        Files.createDirectories(tempDir.resolve("src"));
+
+        // When
+        List<Path> entries = lookUp(List.of("src", "missing", "pom.xml"));
+
+        // Then
+        assertThat(entries).containsExactly(tempDir.resolve("src"), tempDir.resolve("pom.xml"));
+    }
+
+    @Test
+    void iterator_danglingLink_yieldedLikeAListing() throws IOException {
+        // Given
+        try {
+            Files.createSymbolicLink(tempDir.resolve("link"), tempDir.resolve("absent"));
+        } catch (IOException | UnsupportedOperationException e) {
+            assumeTrue(false, "Symlink creation not permitted: " + e.getMessage());
+        }
+
+        // When
+        List<Path> entries = lookUp(List.of("link"));
+
+        // Then
+        assertThat(entries).containsExactly(tempDir.resolve("link"));
+    }
+
+    @Test
+    void iterator_nameSpelledDifferentlyOnCaseInsensitiveFileSystem_skipsEntry() throws IOException {
+        // Given
+        createFile(tempDir, "Pom.xml");
+        assumeTrue(Files.exists(tempDir.resolve("POM.XML")), "File system is case-sensitive");
+
+        // When
+        List<Path> entries = lookUp(List.of("POM.XML", "Pom.xml"));
+
+        // Then
+        assertThat(entries).containsExactly(tempDir.resolve("Pom.xml"));
+    }
+
+    @Test
+    void iterator_calledTwice_throwsIllegalStateException() {
+        // Given
+        CandidateDirectoryStream stream = new CandidateDirectoryStream(tempDir, List.of("any"));
+        stream.iterator();
+
+        // When / Then
+        assertThatThrownBy(stream::iterator).isInstanceOf(IllegalStateException.class);
+    }
+
+    @NonNull
+    private List<Path> lookUp(Collection<String> names) {
+        List<Path> entries = new ArrayList<>();
+        try (CandidateDirectoryStream stream = new CandidateDirectoryStream(tempDir, names)) {
+            stream.forEach(entries::add);
+        }
+        return entries;
+    }
+}
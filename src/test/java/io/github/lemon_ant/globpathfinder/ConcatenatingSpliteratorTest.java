@@ -0,0 +1,142 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+
+class ConcatenatingSpliteratorTest {
+
+    private static final Map<String, List<String>> SOURCES =
+            Map.of("first", List.of("a", "b", "c"), "second", List.of("d", "e"), "third", List.of("f"));
+
+    private final List<String> opened = new ArrayList<>();
+    private final List<String> closed = new ArrayList<>();
+
+    @Test
+    void constructor_negativeLimit_throwsIllegalArgumentException() {
+        // When / Then
+        assertThatThrownBy(() -> concatenate(List.of("first"), element -> true, -1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("limit must not be negative");
+    }
+
+    @Test
+    void forEachRemaining_severalSources_emitsAllInSourceOrderAndClosesEach() {
+        // Given
+        ConcatenatingSpliterator<String, String> spliterator =
+                concatenate(List.of("first", "second", "third"), element -> true, Long.MAX_VALUE);
+        List<String> emitted = new ArrayList<>();
+
+        // When
+        spliterator.forEachRemaining(emitted::add);
+
+        // Then
+        assertThat(emitted).containsExactly("a", "b", "c", "d", "e", "f");
+        assertThat(closed).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void tryAdvance_firstElement_opensOnlyTheFirstSource() {
+        // Given
+        ConcatenatingSpliterator<String, String> spliterator =
+                concatenate(List.of("first", "second"), element -> true, Long.MAX_VALUE);
+        List<String> emitted = new ArrayList<>();
+
+        // When
+        boolean advanced = spliterator.tryAdvance(emitted::add);
+
+        // Then
+        assertThat(advanced).isTrue();
+        assertThat(emitted).containsExactly("a");
+        assertThat(opened).containsExactly("first");
+        assertThat(closed).isEmpty();
+    }
+
+    @Test
+    void tryAdvance_limitReached_closesStreamBeforeLastElementAndOpensNoFurtherSource() {
+        // Given
+        AtomicInteger pulled = new AtomicInteger();
+        ConcatenatingSpliterator<String, String> spliterator = new ConcatenatingSpliterator<>(
+                List.of("first", "second").iterator(),
+                source -> open(source).peek(element -> pulled.incrementAndGet()),
+                element -> true,
+                2);
+        List<String> closedWhenEmitted = new ArrayList<>();
+
+        // When
+        spliterator.forEachRemaining(element -> closedWhenEmitted.add(element + ":" + closed));
+
+        // Then
+        assertThat(closedWhenEmitted).containsExactly("a:[]", "b:[first]");
+        assertThat(pulled).hasValue(2);
+        assertThat(opened).containsExactly("first");
+        assertThat(spliterator.tryAdvance(element -> {})).isFalse();
+    }
+
+    @Test
+    void tryAdvance_zeroLimit_opensNoSource() {
+        // Given
+        ConcatenatingSpliterator<String, String> spliterator = concatenate(List.of("first"), element -> true, 0);
+
+        // When
+        boolean advanced = spliterator.tryAdvance(element -> {});
+
+        // Then
+        assertThat(advanced).isFalse();
+        assertThat(opened).isEmpty();
+    }
+
+    @Test
+    void forEachRemaining_filterRejectsElements_limitCountsOnlyPassingElements() {
+        // Given
+        ConcatenatingSpliterator<String, String> spliterator = concatenate(
+                List.of("first", "second"), element -> !"a".equals(element) && !"c".equals(element), 2);
+        List<String> emitted = new ArrayList<>();
+
+        // When
+        spliterator.forEachRemaining(emitted::add);
+
+        // Then
+        assertThat(emitted).containsExactly("b", "d");
+        assertThat(closed).containsExactly("first", "second");
+    }
+
+    @Test
+    void close_midStream_closesTheOpenStream() {
+        // Given
+        ConcatenatingSpliterator<String, String> spliterator =
+                concatenate(List.of("first", "second"), element -> true, Long.MAX_VALUE);
+        spliterator.tryAdvance(element -> {});
+
+        // When
+        spliterator.close();
+
+        // Then
+        assertThat(closed).containsExactly("first");
+    }
+
+    @NonNull
+    private ConcatenatingSpliterator<String, String> concatenate(
+            List<String> sources, Predicate<String> filter, long limit) {
+        return new ConcatenatingSpliterator<>(sources.iterator(), this::open, filter, limit);
+    }
+
+    @NonNull
+    private Stream<String> open(String source) {
+        opened.add(source);
+        return SOURCES.get(source).stream().onClose(() -> closed.add(source));
+    }
+}
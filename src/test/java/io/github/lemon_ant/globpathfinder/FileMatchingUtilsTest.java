@@ -10,6 +10,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -197,6 +199,89 @@ class FileMatchingUtilsTest {
         assertThat(matcher.matches(Paths.get("sub/dir/file"))).isTrue();
     }
 
+    // ---------- mergeNestedBases ----------
+    @Test
+    void mergeNestedBases_nestedBase_foldedIntoOuterWalk() {
+        // Given
+        Path outerBase = Paths.get("/work/src").toAbsolutePath();
+        Path innerBase = outerBase.resolve("main");
+        Path siblingBase = outerBase.resolveSibling("docs");
+        Set<PathMatcher> innerMatchers = Set.of(AntStylePathMatcher.compile("**/*.xml"));
+        Map<Path, Set<PathMatcher>> baseToIncludeMatchers = Map.of(
+                innerBase, innerMatchers,
+                outerBase, Set.of(AntStylePathMatcher.compile("**/*.java")),
+                siblingBase, Set.of());
+
+        // When
+        Map<Path, Map<Path, Set<PathMatcher>>> result =
+                FileMatchingUtils.mergeNestedBases(baseToIncludeMatchers, (outer, inner) -> true);
+
+        // Then
+        assertThat(result).containsOnlyKeys(outerBase, siblingBase);
+        assertThat(result.get(outerBase)).containsOnlyKeys(outerBase, innerBase);
+        assertThat(result.get(outerBase).keySet()).first().isEqualTo(outerBase);
+        assertThat(result.get(outerBase).get(innerBase)).isSameAs(innerMatchers);
+        assertThat(result.get(siblingBase)).containsOnlyKeys(siblingBase);
+    }
+
+    @Test
+    void mergeNestedBases_innerNotWalkedThrough_keepsSeparateWalk() {
+        // Given
+        Path outerBase = Paths.get("/work/src").toAbsolutePath();
+        Path innerBase = outerBase.resolve("linked/main");
+        Map<Path, Set<PathMatcher>> baseToIncludeMatchers = Map.of(innerBase, Set.of(), outerBase, Set.of());
+
+        // When
+        Map<Path, Map<Path, Set<PathMatcher>>> result =
+                FileMatchingUtils.mergeNestedBases(baseToIncludeMatchers, (outer, inner) -> false);
+
+        // Then
+        assertThat(result).containsOnlyKeys(outerBase, innerBase);
+    }
+
+    @Test
+    void mergeNestedBases_nonNormalizedBase_keepsSeparateWalk() {
+        // Given
+        Path outerBase = Paths.get("/work/src").toAbsolutePath();
+        Path escapingBase = outerBase.resolve("main/../../other");
+        Map<Path, Set<PathMatcher>> baseToIncludeMatchers = Map.of(escapingBase, Set.of(), outerBase, Set.of());
+
+        // When
+        Map<Path, Map<Path, Set<PathMatcher>>> result =
+                FileMatchingUtils.mergeNestedBases(baseToIncludeMatchers, (outer, inner) -> true);
+
+        // Then
+        assertThat(result).containsOnlyKeys(outerBase, escapingBase);
+    }
+
+    // ---------- findNestedRoots ----------
+    @Test
+    void findNestedRoots_disjointRoots_returnsEmpty() {
+        // Given
+        Path firstRoot = Paths.get("/work/src").toAbsolutePath();
+        Path secondRoot = Paths.get("/work/src-gen").toAbsolutePath();
+
+        // When
+        Set<Path> result = FileMatchingUtils.findNestedRoots(Set.of(firstRoot, secondRoot));
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void findNestedRoots_rootInsideAnotherRoot_returnsInnerRoot() {
+        // Given
+        Path outerRoot = Paths.get("/work/src").toAbsolutePath();
+        Path innerRoot = outerRoot.resolve("main");
+        Path siblingRoot = outerRoot.resolveSibling("docs");
+
+        // When
+        Set<Path> result = FileMatchingUtils.findNestedRoots(Set.of(outerRoot, innerRoot, siblingRoot));
+
+        // Then
+        assertThat(result).containsExactly(innerRoot);
+    }
+
     // ---------- isWildcardSegment ----------
     @ParameterizedTest
     @ValueSource(strings = {"*", "?.txt", "**", "*.java"})
@@ -0,0 +1,65 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+class FileTreeHelper {
+
+    @NonNull
+    static Path createFile(@NonNull Path root, @NonNull String relativePath) throws IOException {
+        Path filePath = root.resolve(relativePath);
+        Files.createDirectories(filePath.getParent());
+        return Files.createFile(filePath);
+    }
+
+    @NonNull
+    static Set<Path> collectAndClose(@NonNull Stream<Path> pathStream) {
+        try (pathStream) {
+            return pathStream.collect(Collectors.toUnmodifiableSet());
+        }
+    }
+
+    /**
+     * Adapts a stateless matcher and descend filter for the walker tests; the state of an entry is the entry itself.
+     */
+    @NonNull
+    static TreeWalkFilter<Path> walkFilter(
+            @NonNull BiPredicate<Path, BasicFileAttributes> matcher,
+            @NonNull BiPredicate<Path, BasicFileAttributes> descendFilter) {
+        return new TreeWalkFilter<>() {
+            @Override
+            public Path startState(Path start) {
+                return start;
+            }
+
+            @Override
+            public Path childState(Path directoryState, Path child) {
+                return child;
+            }
+
+            @Override
+            public boolean isMatched(Path state, Path path, BasicFileAttributes attributes) {
+                return matcher.test(path, attributes);
+            }
+
+            @Override
+            public boolean isDescended(Path state, Path directory, BasicFileAttributes attributes) {
+                return descendFilter.test(directory, attributes);
+            }
+        };
+    }
+}
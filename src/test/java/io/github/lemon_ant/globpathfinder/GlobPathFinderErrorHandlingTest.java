@@ -133,6 +133,82 @@ class GlobPathFinderErrorHandlingTest {
                         PosixFilePermission.OWNER_EXECUTE));
     }
 
+    @Test
+    void findPaths_unreadableExcludedSubtree_failFastEnabled_prunesWithoutError() throws IOException {
+        // Run only on POSIX where chmod(000) is available
+        assumeTrue(
+                Files.getFileAttributeView(tempDir, PosixFileAttributeView.class) != null,
+                "POSIX attributes not supported; skipping test.");
+
+        // Given
+        Path base = tempDir.resolve("base");
+        Path visibleFile = base.resolve("src/App.java");
+        Path deniedDir = base.resolve("web/node_modules");
+        Files.createDirectories(visibleFile.getParent());
+        Files.createDirectories(deniedDir);
+        Files.writeString(visibleFile, "class App {}");
+        Files.setPosixFilePermissions(deniedDir, Set.of());
+        PathQuery query = PathQuery.builder()
+                .baseDir(base)
+                .excludeGlobs(Set.of("**/node_modules/**"))
+                .failFastOnError(true)
+                .build();
+
+        // When
+        List<Path> result;
+        try (Stream<Path> pathStream = GlobPathFinder.findPaths(query)) {
+            result = pathStream.collect(Collectors.toUnmodifiableList());
+        } finally {
+            Files.setPosixFilePermissions(
+                    deniedDir,
+                    Set.of(
+                            PosixFilePermission.OWNER_READ,
+                            PosixFilePermission.OWNER_WRITE,
+                            PosixFilePermission.OWNER_EXECUTE));
+        }
+
+        // Then
+        assertThat(result).containsExactly(visibleFile.toAbsolutePath().normalize());
+    }
+
+    @Test
+    void findPaths_unreadableDirectoryOutsideIncludePath_failFastEnabled_prunesWithoutError() throws IOException {
+        // Run only on POSIX where chmod(000) is available
+        assumeTrue(
+                Files.getFileAttributeView(tempDir, PosixFileAttributeView.class) != null,
+                "POSIX attributes not supported; skipping test.");
+
+        // Given
+        Path base = tempDir.resolve("base");
+        Path mainFile = base.resolve("src/foo/main/java/App.java");
+        Path deniedDir = base.resolve("src/foo/test");
+        Files.createDirectories(mainFile.getParent());
+        Files.createDirectories(deniedDir);
+        Files.writeString(mainFile, "class App {}");
+        Files.setPosixFilePermissions(deniedDir, Set.of());
+        PathQuery query = PathQuery.builder()
+                .baseDir(base)
+                .includeGlobs(Set.of("src/*/main/**/*.java"))
+                .failFastOnError(true)
+                .build();
+
+        // When
+        List<Path> result;
+        try (Stream<Path> pathStream = GlobPathFinder.findPaths(query)) {
+            result = pathStream.collect(Collectors.toUnmodifiableList());
+        } finally {
+            Files.setPosixFilePermissions(
+                    deniedDir,
+                    Set.of(
+                            PosixFilePermission.OWNER_READ,
+                            PosixFilePermission.OWNER_WRITE,
+                            PosixFilePermission.OWNER_EXECUTE));
+        }
+
+        // Then
+        assertThat(result).containsExactly(mainFile.toAbsolutePath().normalize());
+    }
+
     @Test
     void findPaths_nonExistentBase_failFastEnabled_throwsIllegalArgumentException() {
         // Given
@@ -14,9 +14,17 @@ import ch.qos.logback.classic.Logger;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -125,6 +133,70 @@ class GlobPathFinderTest {
         assertThat(result).containsExactlyInAnyOrder("src/A.java", "test/A.java");
     }
 
+    @Test
+    void findPaths_nestedBasesWalkedSeparately_deduplicatesResults() throws Exception {
+        // Given
+        createFile("m/src/A.java");
+        createFile("m/test/A.java");
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir.resolve("m"))
+                .includeGlobs(Set.of("**/*.java", "src/**/*.java"))
+                .failFastOnError(false) // shielded mode keeps one walk per base
+                .build();
+
+        // When
+        List<String> result;
+        try (Stream<Path> pathStream = GlobPathFinder.findPaths(query)) {
+            result = pathStream
+                    .map(path -> tempDir.resolve("m").relativize(path).toString().replace('\\', '/'))
+                    .collect(toUnmodifiableList());
+        }
+
+        // Then
+        assertThat(result).containsExactlyInAnyOrder("src/A.java", "test/A.java");
+    }
+
+    @Test
+    void findPaths_nestedIncludeBases_keepRelativeExcludesPerBase() throws Exception {
+        // Given
+        createFile("src/A.java");
+        createFile("src/main/B.java");
+        createFile("src/main/C.xml");
+        createFile("src/main/sub/D.xml");
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("src/**/*.java", "src/main/**/*.xml"))
+                .excludeGlobs(Set.of("*.xml"))
+                .build();
+
+        // When
+        Set<String> result = collectToRelStringSet(GlobPathFinder.findPaths(query), tempDir);
+
+        // Then
+        // "*.xml" is relative to each include base: it drops src/main/C.xml but not src/main/sub/D.xml.
+        assertThat(result).containsExactlyInAnyOrder("src/A.java", "src/main/B.java", "src/main/sub/D.xml");
+    }
+
+    @Test
+    void findPaths_nestedIncludeBasesWithMaxDepth_limitDepthPerBase() throws Exception {
+        // Given
+        createFile("src/A.java");
+        createFile("src/main/B.java");
+        createFile("src/main/C.xml");
+        createFile("src/main/sub/D.xml");
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("src/**/*.java", "src/main/**/*.xml"))
+                .maxDepth(1)
+                .build();
+
+        // When
+        Set<String> result = collectToRelStringSet(GlobPathFinder.findPaths(query), tempDir);
+
+        // Then
+        assertThat(result).containsExactlyInAnyOrder("src/A.java", "src/main/C.xml");
+    }
+
     @Test
     void findPaths_onlyFilesFalse_includesDirectories() throws Exception {
         // Given
@@ -190,6 +262,165 @@ class GlobPathFinderTest {
         assertThat(actualPaths).containsExactly(expectedFile.toAbsolutePath());
     }
 
+    @Test
+    void findPaths_parallelTraversal_returnsSameResultsAsSequential() throws Exception {
+        // Given
+        for (int dirIndex = 0; dirIndex < 10; dirIndex++) {
+            createFile("src/m" + dirIndex + "/Main.java");
+            createFile("src/m" + dirIndex + "/README.md");
+            createFile("build/m" + dirIndex + "/Main.java");
+        }
+        PathQuery sequentialQuery = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("**/*.java"))
+                .excludeGlobs(Set.of("build/**"))
+                .build();
+        PathQuery parallelQuery = sequentialQuery.toBuilder()
+                .traversalMode(TraversalMode.PARALLEL)
+                .traversalParallelism(3)
+                .build();
+
+        // When
+        Set<String> sequential = collectToRelStringSet(GlobPathFinder.findPaths(sequentialQuery), tempDir);
+        Set<String> parallel = collectToRelStringSet(GlobPathFinder.findPaths(parallelQuery), tempDir);
+
+        // Then
+        assertThat(parallel).hasSize(10).isEqualTo(sequential);
+    }
+
+    @Test
+    void findPaths_batchLatencyInParallelStream_returnsSameResultsAsWithoutIt() throws Exception {
+        // Given
+        createJavaFilesInSevenDirs(50);
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("**/*.java"))
+                .batchSize(2)
+                .build();
+        PathQuery latencyQuery = query.toBuilder().batchLatency(Duration.ofMillis(5)).build();
+
+        // When
+        Set<String> result = collectToRelStringSet(GlobPathFinder.findPaths(latencyQuery).parallel(), tempDir);
+
+        // Then
+        assertThat(result).hasSize(50).isEqualTo(collectToRelStringSet(GlobPathFinder.findPaths(query), tempDir));
+    }
+
+    @Test
+    void findPaths_prefetchBatches_returnsSameResultsSequentiallyAndInParallel() throws Exception {
+        // Given
+        createJavaFilesInSevenDirs(50);
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("**/*.java"))
+                .batchSize(2)
+                .build();
+        PathQuery prefetchQuery = query.toBuilder().prefetchBatches(1).build();
+        Set<String> expected = collectToRelStringSet(GlobPathFinder.findPaths(query), tempDir);
+
+        // When
+        Set<String> sequential = collectToRelStringSet(GlobPathFinder.findPaths(prefetchQuery), tempDir);
+        Set<String> parallel = collectToRelStringSet(GlobPathFinder.findPaths(prefetchQuery).parallel(), tempDir);
+
+        // Then
+        assertThat(sequential).hasSize(50).isEqualTo(expected);
+        assertThat(parallel).isEqualTo(expected);
+    }
+
+    @Test
+    void findPaths_baseConcurrency_returnsSameResultsAsOneBaseAtATime() throws Exception {
+        // Given
+        createJavaFilesInSevenDirs(70);
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(IntStream.range(0, 7)
+                        .mapToObj(dir -> "dir" + dir + "/*.java")
+                        .collect(Collectors.toList()))
+                .batchSize(2)
+                .build();
+        PathQuery concurrentQuery = query.toBuilder().baseConcurrency(3).build();
+        Set<String> expected = collectToRelStringSet(GlobPathFinder.findPaths(query), tempDir);
+
+        // When
+        List<Path> sequential;
+        try (Stream<Path> paths = GlobPathFinder.findPaths(concurrentQuery)) {
+            sequential = paths.collect(Collectors.toList());
+        }
+        Set<String> parallel = collectToRelStringSet(GlobPathFinder.findPaths(concurrentQuery).parallel(), tempDir);
+
+        // Then
+        assertThat(sequential).hasSize(70).doesNotHaveDuplicates();
+        assertThat(collectToRelStringSet(sequential.stream(), tempDir)).isEqualTo(expected);
+        assertThat(parallel).isEqualTo(expected);
+    }
+
+    @Test
+    void findPaths_cancellationTokenCancelledMidStream_throwsTraversalCancelledException() throws Exception {
+        // Given
+        createJavaFilesInSevenDirs(70);
+        CancellationToken cancellationToken = new CancellationToken();
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("**/*.java"))
+                .batchSize(2)
+                .cancellationToken(cancellationToken)
+                .build();
+        List<Path> received = new ArrayList<>();
+
+        // When / Then
+        try (Stream<Path> paths = GlobPathFinder.findPaths(query)) {
+            assertThatThrownBy(() -> paths.forEach(path -> {
+                        received.add(path);
+                        cancellationToken.cancel();
+                    }))
+                    .isInstanceOfSatisfying(
+                            TraversalCancelledException.class,
+                            cancelled -> assertThat(cancelled.isTimedOut()).isFalse());
+        }
+        assertThat(received).hasSizeBetween(1, 69);
+    }
+
+    @Test
+    void count_timeoutPassedInParallelTraversal_throwsTimedOutException() throws Exception {
+        // Given
+        createJavaFilesInSevenDirs(70);
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("**/*.java"))
+                .traversalMode(TraversalMode.PARALLEL)
+                .timeout(Duration.ofNanos(1))
+                .build();
+
+        // When / Then
+        assertThatThrownBy(() -> GlobPathFinder.count(query))
+                .isInstanceOfSatisfying(
+                        TraversalCancelledException.class,
+                        cancelled -> assertThat(cancelled.isTimedOut()).isTrue());
+    }
+
+    @Test
+    void findPaths_prefetchBatchesClosedEarly_stopsTraversal() throws Exception {
+        // Given
+        createJavaFilesInSevenDirs(50);
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("**/*.java"))
+                .batchSize(1)
+                .prefetchBatches(1)
+                .build();
+
+        // When
+        Optional<Path> first;
+        try (Stream<Path> pathStream = GlobPathFinder.findPaths(query)) {
+            first = pathStream.findFirst();
+        }
+
+        // Then
+        assertThat(first).isPresent();
+        assertThat(Thread.getAllStackTraces().keySet())
+                .noneMatch(thread -> "glob-path-finder-prefetch".equals(thread.getName()));
+    }
+
     @Test
     void findPaths_closedViaResources_completesNormally() throws Exception {
         // Given
@@ -328,6 +559,362 @@ class GlobPathFinderTest {
         assertThat(result).containsExactlyInAnyOrder("sub/App.java");
     }
 
+    @Test
+    void findPaths_sizeBounds_keepRegularFilesWithinBounds() throws Exception {
+        // Given
+        Files.writeString(createFile("tiny.txt"), "1");
+        Files.writeString(createFile("medium.txt"), "12345");
+        Files.writeString(createFile("large.txt"), "1234567890");
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .minSize(2L)
+                .maxSize(5L)
+                .build();
+
+        // When
+        Set<String> result = collectToRelStringSet(GlobPathFinder.findPaths(query), tempDir);
+
+        // Then
+        assertThat(result).containsExactly("medium.txt");
+    }
+
+    @Test
+    void findPaths_modifiedBounds_keepEntriesModifiedStrictlyBetween() throws Exception {
+        // Given
+        Instant now = Instant.parse("2026-04-21T12:00:00Z");
+        Files.setLastModifiedTime(createFile("old.txt"), FileTime.from(now.minus(Duration.ofDays(30))));
+        Files.setLastModifiedTime(createFile("recent.txt"), FileTime.from(now.minus(Duration.ofDays(1))));
+        Files.setLastModifiedTime(createFile("future.txt"), FileTime.from(now.plus(Duration.ofDays(1))));
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .modifiedAfter(now.minus(Duration.ofDays(7)))
+                .modifiedBefore(now)
+                .build();
+
+        // When
+        Set<String> result = collectToRelStringSet(GlobPathFinder.findPaths(query), tempDir);
+
+        // Then
+        assertThat(result).containsExactly("recent.txt");
+    }
+
+    @Test
+    void findEntries_sameQuery_returnsFindPathsResultsWithTheirAttributes() throws Exception {
+        // Given
+        Files.writeString(createFile("src/Main.java"), "class Main {}");
+        Files.writeString(createFile("src/sub/Util.java"), "class Util { }");
+        createFile("src/notes.txt");
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("src/**/*.java", "src/sub/**"))
+                .build();
+
+        // When
+        List<PathEntry> entries;
+        try (Stream<PathEntry> entryStream = GlobPathFinder.findEntries(query)) {
+            entries = entryStream.collect(toUnmodifiableList());
+        }
+
+        // Then
+        Set<Path> entryPaths = entries.stream().map(PathEntry::getPath).collect(Collectors.toUnmodifiableSet());
+        try (Stream<Path> pathStream = GlobPathFinder.findPaths(query)) {
+            assertThat(entries).hasSize(2);
+            assertThat(entryPaths).isEqualTo(pathStream.collect(Collectors.toUnmodifiableSet()));
+        }
+        for (PathEntry entry : entries) {
+            assertThat(entry.getAttributes().isRegularFile()).isTrue();
+            assertThat(entry.getAttributes().size()).isEqualTo(Files.size(entry.getPath()));
+        }
+    }
+
+    @Test
+    void findEntries_literalFileInclude_returnsAttributesOfThatFile() throws Exception {
+        // Given
+        Path pom = createFile("module/pom.xml");
+        Files.writeString(pom, "<project/>");
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("module/pom.xml"))
+                .traversalMode(TraversalMode.PARALLEL)
+                .build();
+
+        // When
+        List<PathEntry> entries;
+        try (Stream<PathEntry> entryStream = GlobPathFinder.findEntries(query)) {
+            entries = entryStream.collect(toUnmodifiableList());
+        }
+
+        // Then
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getPath()).isEqualTo(pom.toAbsolutePath().normalize());
+        assertThat(entries.get(0).getAttributes().size()).isEqualTo("<project/>".length());
+    }
+
+    @Test
+    void findPaths_maxResults_returnsThatManyOfTheMatchingPaths() throws Exception {
+        // Given
+        createFile("a/One.java");
+        createFile("a/Two.java");
+        createFile("b/Three.java");
+        createFile("b/c/Four.java");
+        createFile("notes.txt");
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("**/*.java"))
+                .maxResults(2L)
+                .build();
+
+        // When
+        Set<String> result = collectToRelStringSet(GlobPathFinder.findPaths(query), tempDir);
+
+        // Then
+        assertThat(result)
+                .hasSize(2)
+                .isSubsetOf("a/One.java", "a/Two.java", "b/Three.java", "b/c/Four.java");
+    }
+
+    @Test
+    void findPaths_zeroMaxResults_returnsNothing() throws Exception {
+        // Given
+        createFile("a/One.java");
+        PathQuery query = PathQuery.builder().baseDir(tempDir).maxResults(0L).build();
+
+        // When
+        Set<String> result = collectToRelStringSet(GlobPathFinder.findPaths(query), tempDir);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void findFirst_emptyTree_returnsEmpty() {
+        // Given
+        PathQuery query = PathQuery.builder().baseDir(tempDir).build();
+
+        // When
+        Optional<Path> first = GlobPathFinder.findFirst(query);
+
+        // Then
+        assertThat(first).isEmpty();
+    }
+
+    @Test
+    void findFirst_matchingPaths_returnsOneOfThem() throws Exception {
+        // Given
+        Path one = createFile("a/One.java");
+        Path two = createFile("b/c/Two.java");
+        createFile("b/notes.txt");
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("**/*.java"))
+                .build();
+
+        // When
+        Optional<Path> first = GlobPathFinder.findFirst(query);
+
+        // Then
+        assertThat(first).get().isIn(one.toAbsolutePath().normalize(), two.toAbsolutePath().normalize());
+    }
+
+    @Test
+    void findFirst_parallelTraversal_returnsAMatchingPath() throws Exception {
+        // Given
+        for (int index = 0; index < 20; index++) {
+            createFile("dir" + index + "/File" + index + ".java");
+        }
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("**/*.java"))
+                .traversalMode(TraversalMode.PARALLEL)
+                .build();
+
+        // When
+        Optional<Path> first = GlobPathFinder.findFirst(query);
+
+        // Then
+        assertThat(first).hasValueSatisfying(path -> assertThat(path.toString()).endsWith(".java"));
+    }
+
+    @Test
+    void exists_matchingAndNonMatchingQueries_reportsWhetherAnyPathMatches() throws Exception {
+        // Given
+        createFile("src/Main.java");
+        PathQuery javaQuery = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("**/*.java"))
+                .build();
+        PathQuery markdownQuery = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("**/*.md"))
+                .build();
+
+        // When
+        boolean javaExists = GlobPathFinder.exists(javaQuery);
+        boolean markdownExists = GlobPathFinder.exists(markdownQuery);
+
+        // Then
+        assertThat(javaExists).isTrue();
+        assertThat(markdownExists).isFalse();
+    }
+
+    @Test
+    void count_disjointBases_returnsNumberOfFoundPaths() throws Exception {
+        // Given
+        createFile("src/A.java");
+        createFile("src/b/B.java");
+        createFile("test/T.java");
+        createFile("docs/readme.md");
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("src/**/*.java", "test/**/*.java", "docs/**"))
+                .build();
+
+        // When
+        long count = GlobPathFinder.count(query);
+
+        // Then
+        assertThat(count).isEqualTo(4);
+    }
+
+    @Test
+    void count_nestedBasesWalkedSeparately_countsEachPathOnce() throws Exception {
+        // Given
+        createFile("m/src/A.java");
+        createFile("m/test/A.java");
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir.resolve("m"))
+                .includeGlobs(Set.of("**/*.java", "src/**/*.java"))
+                .failFastOnError(false) // shielded mode keeps one walk per base
+                .build();
+
+        // When
+        long count = GlobPathFinder.count(query);
+
+        // Then
+        assertThat(count).isEqualTo(2);
+    }
+
+    @Test
+    void count_maxResults_countsAtMostThatMany() throws Exception {
+        // Given
+        createFile("a/One.java");
+        createFile("a/Two.java");
+        createFile("b/Three.java");
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("**/*.java"))
+                .maxResults(2L)
+                .build();
+
+        // When
+        long count = GlobPathFinder.count(query);
+
+        // Then
+        assertThat(count).isEqualTo(2);
+    }
+
+    @Test
+    void count_parallelTraversal_returnsSameCountAsFindPaths() throws Exception {
+        // Given
+        for (int index = 0; index < 20; index++) {
+            createFile("dir" + index + "/File" + index + ".java");
+            createFile("dir" + index + "/sub/notes.txt");
+        }
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("**/*.java", "dir1/**/*.txt"))
+                .traversalMode(TraversalMode.PARALLEL)
+                .build();
+
+        // When
+        long count = GlobPathFinder.count(query);
+
+        // Then
+        assertThat(count).isEqualTo(collectToRelStringSet(GlobPathFinder.findPaths(query), tempDir).size());
+    }
+
+    @Test
+    void processPaths_forkJoinPool_processesPathsOnPoolWorkers() throws Exception {
+        // Given
+        createJavaFilesInSevenDirs(50);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("**/*.java"))
+                .batchSize(2)
+                .traversalMode(TraversalMode.PARALLEL)
+                .forkJoinPool(pool)
+                .build();
+
+        // When
+        List<ForkJoinPool> processingPools = GlobPathFinder.processPaths(
+                query, paths -> paths.map(path -> ForkJoinTask.getPool()).collect(Collectors.toList()));
+
+        // Then
+        assertThat(processingPools).hasSize(50).containsOnly(pool);
+        assertThat(pool.isShutdown()).isFalse();
+        pool.shutdown();
+    }
+
+    @Test
+    void count_singleThreadForkJoinPoolWithParallelTraversal_countsAllPaths() throws Exception {
+        // Given
+        createJavaFilesInSevenDirs(50);
+        createFile("other/pom.xml");
+        ForkJoinPool pool = new ForkJoinPool(1);
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("dir1/**/*.java", "dir2/**/*.java", "other/*.xml"))
+                .traversalMode(TraversalMode.PARALLEL)
+                .forkJoinPool(pool)
+                .build();
+
+        // When
+        long count = GlobPathFinder.count(query);
+
+        // Then
+        assertThat(count).isEqualTo(collectToRelStringSet(GlobPathFinder.findPaths(query), tempDir).size());
+        pool.shutdown();
+    }
+
+    @Test
+    void publish_demandInSteps_emitsPathsOfFindPathsOnRequest() throws Exception {
+        // Given
+        createJavaFilesInSevenDirs(10);
+        PathQuery query = PathQuery.builder()
+                .baseDir(tempDir)
+                .includeGlobs(Set.of("**/*.java"))
+                .build();
+        RecordingSubscriber<Path> subscriber = new RecordingSubscriber<>();
+        GlobPathFinder.publish(query, Runnable::run).subscribe(subscriber);
+
+        // When
+        subscriber.request(3);
+        int receivedOnFirstRequest = subscriber.getReceived().size();
+        subscriber.request(Long.MAX_VALUE);
+
+        // Then
+        assertThat(receivedOnFirstRequest).isEqualTo(3);
+        assertThat(subscriber.isCompleted()).isTrue();
+        assertThat(collectToRelStringSet(subscriber.getReceived().stream(), tempDir))
+                .hasSize(10)
+                .isEqualTo(collectToRelStringSet(GlobPathFinder.findPaths(query), tempDir));
+    }
+
+    @Test
+    void publish_missingBaseDir_signalsIllegalArgumentException() {
+        // Given
+        PathQuery query = PathQuery.builder().baseDir(tempDir.resolve("missing")).build();
+        RecordingSubscriber<Path> subscriber = new RecordingSubscriber<>();
+        GlobPathFinder.publish(query, Runnable::run).subscribe(subscriber);
+
+        // When
+        subscriber.request(1);
+
+        // Then
+        assertThat(subscriber.getFailure()).isInstanceOf(IllegalArgumentException.class);
+    }
+
     private Set<String> collectToRelStringSet(Stream<Path> pathStream, Path base) {
         // Compare results as paths relative to the passed base for stability across OS/roots.
         try (pathStream) {
@@ -344,6 +931,12 @@ class GlobPathFinderTest {
         return directoryPath;
     }
 
+    private void createJavaFilesInSevenDirs(int count) throws IOException {
+        for (int index = 0; index < count; index++) {
+            createFile("dir" + index % 7 + "/File" + index + ".java");
+        }
+    }
+
     private Path createFile(String relativePath) throws IOException {
         Path filePath = tempDir.resolve(relativePath);
         Files.createDirectories(filePath.getParent());
@@ -0,0 +1,235 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.collectAndClose;
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.createFile;
+import static io.github.lemon_ant.globpathfinder.PatternSetHelper.compilePatterns;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GlobWalkFilterTest {
+
+    private static final BiPredicate<Path, BasicFileAttributes> REGULAR_FILES = (path, attrs) -> attrs.isRegularFile();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void find_deepEntries_matchedAgainstCarriedStates() throws IOException {
+        // Given
+        createFile(tempDir, "src/a/b/c/d/e/Deep.java");
+        createFile(tempDir, "src/a/b/gen/Generated.java");
+        createFile(tempDir, "src/a/b/Old.java");
+        createFile(tempDir, "docs/Other.java");
+        GlobWalkFilter filter = new GlobWalkFilter(
+                tempDir,
+                Map.of(tempDir, compilePatterns("src/**/*.java")),
+                compilePatterns("**/gen/**"),
+                compilePatterns("/**/b/Old.java"),
+                Integer.MAX_VALUE,
+                REGULAR_FILES,
+                Set.of());
+
+        // When
+        Set<Path> walked = collectAndClose(PathTreeWalker.find(tempDir, Integer.MAX_VALUE, filter, false));
+
+        // Then
+        assertThat(walked).containsExactly(tempDir.resolve("src/a/b/c/d/e/Deep.java"));
+    }
+
+    @Test
+    void isDescended_subtreeUnreachableByIncludes_prunesDirectory() throws IOException {
+        // Given
+        createFile(tempDir, "src/main/java/Main.java");
+        createFile(tempDir, "src/test/java/MainTest.java");
+        List<Path> listedDirectories = new ArrayList<>();
+        GlobWalkFilter filter = new GlobWalkFilter(
+                tempDir,
+                Map.of(tempDir, compilePatterns("*/main/**/*.java")),
+                compilePatterns(),
+                compilePatterns(),
+                Integer.MAX_VALUE,
+                REGULAR_FILES,
+                Set.of());
+
+        // When
+        Set<Path> walked = collectAndClose(PathTreeWalker.find(
+                tempDir, Integer.MAX_VALUE, recordingDescent(filter, listedDirectories), false));
+
+        // Then
+        assertThat(walked).containsExactly(tempDir.resolve("src/main/java/Main.java"));
+        assertThat(listedDirectories).doesNotContain(tempDir.resolve("src/test"));
+    }
+
+    @Test
+    void find_foldedBase_usesOwnPatternsAndDepth() throws IOException {
+        // Given: the root base takes top-level Markdown only, the folded base everything up to two levels below it
+        createFile(tempDir, "README.md");
+        createFile(tempDir, "a/Skipped.md");
+        createFile(tempDir, "a/b/One.txt");
+        createFile(tempDir, "a/b/c/Two.txt");
+        createFile(tempDir, "a/b/c/d/Three.txt");
+        Path innerBase = tempDir.resolve("a/b");
+        Map<Path, AntStylePatternSet> includeBases = new LinkedHashMap<>();
+        includeBases.put(tempDir, compilePatterns("*.md"));
+        includeBases.put(innerBase, compilePatterns());
+        GlobWalkFilter filter = new GlobWalkFilter(
+                tempDir, includeBases, compilePatterns(), compilePatterns(), 2, REGULAR_FILES, Set.of());
+
+        // When
+        Set<Path> walked = collectAndClose(PathTreeWalker.find(tempDir, 4, filter, false));
+
+        // Then
+        assertThat(walked)
+                .containsExactlyInAnyOrder(
+                        tempDir.resolve("README.md"), innerBase.resolve("One.txt"), innerBase.resolve("c/Two.txt"));
+    }
+
+    @Test
+    void find_allowedExtensions_matchedCaseInsensitivelyOnFileNameOnly() throws IOException {
+        // Given
+        createFile(tempDir, "Main.java");
+        createFile(tempDir, "README.MD");
+        createFile(tempDir, "notes.txt");
+        createFile(tempDir, "docs.md/LICENSE");
+        createFile(tempDir, "trailing.");
+        GlobWalkFilter filter = new GlobWalkFilter(
+                tempDir,
+                Map.of(tempDir, compilePatterns()),
+                compilePatterns(),
+                compilePatterns(),
+                Integer.MAX_VALUE,
+                REGULAR_FILES,
+                Set.of("java", "md"));
+
+        // When
+        Set<Path> walked = collectAndClose(PathTreeWalker.find(tempDir, Integer.MAX_VALUE, filter, false));
+
+        // Then
+        assertThat(walked).containsExactlyInAnyOrder(tempDir.resolve("Main.java"), tempDir.resolve("README.MD"));
+    }
+
+    @Test
+    void findCandidateNames_literalTailAfterWildcard_namesOnlyTheLiteral() throws IOException {
+        // Given
+        createFile(tempDir, "a/pom.xml");
+        createFile(tempDir, "a/other.xml");
+        createFile(tempDir, "b/sub/pom.xml");
+        GlobWalkFilter filter = new GlobWalkFilter(
+                tempDir,
+                Map.of(tempDir, compilePatterns("*/pom.xml")),
+                compilePatterns(),
+                compilePatterns(),
+                Integer.MAX_VALUE,
+                REGULAR_FILES,
+                Set.of());
+        Path directory = tempDir.resolve("a");
+        GlobWalkFilter.State rootState = filter.startState(tempDir);
+
+        // When
+        Collection<String> rootNames = filter.findCandidateNames(rootState, tempDir);
+        Collection<String> directoryNames =
+                filter.findCandidateNames(filter.childState(rootState, directory), directory);
+        Set<Path> walked = collectAndClose(PathTreeWalker.find(tempDir, Integer.MAX_VALUE, filter, false));
+
+        // Then
+        assertThat(rootNames).isNull();
+        assertThat(directoryNames).containsExactly("pom.xml");
+        assertThat(walked).containsExactly(tempDir.resolve("a/pom.xml"));
+    }
+
+    @Test
+    void findCandidateNames_deeperBase_namesNextSegmentTowardsIt() throws IOException {
+        // Given
+        createFile(tempDir, "pom.xml");
+        createFile(tempDir, "x/y/Inner.java");
+        createFile(tempDir, "z/Skipped.java");
+        Map<Path, AntStylePatternSet> includeBases = new LinkedHashMap<>();
+        includeBases.put(tempDir, compilePatterns("pom.xml"));
+        includeBases.put(tempDir.resolve("x/y"), compilePatterns());
+        GlobWalkFilter filter = new GlobWalkFilter(
+                tempDir, includeBases, compilePatterns(), compilePatterns(), Integer.MAX_VALUE, REGULAR_FILES, Set.of());
+
+        // When
+        Collection<String> rootNames = filter.findCandidateNames(filter.startState(tempDir), tempDir);
+        Set<Path> walked = collectAndClose(PathTreeWalker.find(tempDir, Integer.MAX_VALUE, filter, false));
+
+        // Then
+        assertThat(rootNames).containsExactlyInAnyOrder("pom.xml", "x");
+        assertThat(walked).containsExactlyInAnyOrder(tempDir.resolve("pom.xml"), tempDir.resolve("x/y/Inner.java"));
+    }
+
+    @Test
+    void getWalkDepth_includesWithoutDoubleStar_boundedByLongestPattern() {
+        // Given
+        Map<Path, AntStylePatternSet> includeBases = new LinkedHashMap<>();
+        includeBases.put(tempDir, compilePatterns("*/pom.xml", "docs/*.md"));
+        includeBases.put(tempDir.resolve("a/b"), compilePatterns("*/src/*"));
+        GlobWalkFilter boundedFilter = new GlobWalkFilter(
+                tempDir, includeBases, compilePatterns(), compilePatterns(), Integer.MAX_VALUE, REGULAR_FILES, Set.of());
+        GlobWalkFilter limitedFilter = new GlobWalkFilter(
+                tempDir, includeBases, compilePatterns(), compilePatterns(), 1, REGULAR_FILES, Set.of());
+        GlobWalkFilter unboundedFilter = new GlobWalkFilter(
+                tempDir,
+                Map.of(tempDir, compilePatterns("*/pom.xml", "**/*.java")),
+                compilePatterns(),
+                compilePatterns(),
+                Integer.MAX_VALUE,
+                REGULAR_FILES,
+                Set.of());
+
+        // When / Then
+        assertThat(boundedFilter.getWalkDepth()).isEqualTo(5);
+        assertThat(limitedFilter.getWalkDepth()).isEqualTo(3);
+        assertThat(unboundedFilter.getWalkDepth()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    private static <S> TreeWalkFilter<S> recordingDescent(TreeWalkFilter<S> filter, List<Path> listedDirectories) {
+        return new TreeWalkFilter<>() {
+            @Override
+            public S startState(Path start) {
+                return filter.startState(start);
+            }
+
+            @Override
+            public S childState(S directoryState, Path child) {
+                return filter.childState(directoryState, child);
+            }
+
+            @Override
+            public boolean isMatched(S state, Path path, BasicFileAttributes attributes) {
+                return filter.isMatched(state, path, attributes);
+            }
+
+            @Override
+            public boolean isDescended(S state, Path directory, BasicFileAttributes attributes) {
+                boolean descended = filter.isDescended(state, directory, attributes);
+                if (descended) {
+                    listedDirectories.add(directory);
+                }
+                return descended;
+            }
+
+            @Override
+            public Collection<String> findCandidateNames(S state, Path directory) {
+                return filter.findCandidateNames(state, directory);
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+
+class InterleavingSpliteratorTest {
+
+    private static final List<Integer> SOURCES = IntStream.range(0, 12).boxed().collect(Collectors.toList());
+
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final AtomicInteger maxOpenStreams = new AtomicInteger();
+    private final AtomicInteger closedStreams = new AtomicInteger();
+
+    @Test
+    void constructor_nonPositiveConcurrency_throwsIllegalArgumentException() {
+        // When / Then
+        assertThatThrownBy(() -> new InterleavingSpliterator<>(SOURCES.iterator(), Stream::of, 0, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("concurrency must be positive");
+    }
+
+    @Test
+    void forEachRemaining_manySources_deliversEachSourceInOrderWithBoundedOpenStreams() {
+        // Given
+        InterleavingSpliterator<Integer, String> spliterator =
+                new InterleavingSpliterator<>(SOURCES.iterator(), source -> tracked(source, 100), 3, 4);
+        List<String> delivered = new ArrayList<>();
+
+        // When
+        spliterator.forEachRemaining(delivered::add);
+
+        // Then
+        assertThat(delivered).hasSize(1200);
+        for (int source : SOURCES) {
+            assertThat(delivered.stream().filter(element -> element.startsWith(source + ":")))
+                    .containsExactlyElementsOf(elementsOf(source, 100).collect(Collectors.toList()));
+        }
+        assertThat(maxOpenStreams.get()).isBetween(1, 3);
+        assertThat(closedStreams).hasValue(SOURCES.size());
+    }
+
+    @Test
+    void tryAdvance_sourceFails_rethrowsFailure() {
+        // Given
+        InterleavingSpliterator<Integer, String> spliterator = new InterleavingSpliterator<>(
+                SOURCES.iterator(),
+                source -> source == 5
+                        ? Stream.<String>of("failing").peek(element -> {
+                            throw new IllegalStateException("source failed");
+                        })
+                        : tracked(source, 10),
+                2,
+                4);
+
+        // When / Then
+        assertThatThrownBy(() -> spliterator.forEachRemaining(element -> {}))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("source failed");
+    }
+
+    @Test
+    void tryAdvance_executorRejects_rethrowsRejection() {
+        // Given
+        InterleavingSpliterator<Integer, String> spliterator =
+                new InterleavingSpliterator<>(SOURCES.iterator(), source -> tracked(source, 10), 2, 4, task -> {
+                    throw new RejectedExecutionException("shut down");
+                });
+
+        // When / Then
+        assertThatThrownBy(() -> spliterator.tryAdvance(element -> {})).isInstanceOf(RejectedExecutionException.class);
+        spliterator.close();
+        assertThat(openStreams).hasValue(0);
+    }
+
+    @Test
+    void close_midStream_closesEveryOpenedStream() {
+        // Given
+        InterleavingSpliterator<Integer, String> spliterator =
+                new InterleavingSpliterator<>(SOURCES.iterator(), source -> tracked(source, 1_000_000), 4, 8);
+        spliterator.tryAdvance(element -> {});
+
+        // When
+        spliterator.close();
+
+        // Then
+        assertThat(openStreams).hasValue(0);
+        assertThat(closedStreams.get()).isBetween(1, 4);
+        assertThat(spliterator.tryAdvance(element -> {})).isFalse();
+    }
+
+    @Test
+    void close_onSharedForkJoinPool_returnsOnceWorkersFinish() throws Exception {
+        // Given
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            // When
+            int closedOpenStreams = pool.submit(() -> {
+                        InterleavingSpliterator<Integer, String> spliterator = new InterleavingSpliterator<>(
+                                SOURCES.iterator(), source -> tracked(source, 1_000_000), 4, 8, pool);
+                        spliterator.tryAdvance(element -> {});
+                        spliterator.close();
+                        return openStreams.get();
+                    })
+                    .get(30, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(closedOpenStreams).isZero();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @NonNull
+    private Stream<String> tracked(int source, int count) {
+        maxOpenStreams.accumulateAndGet(openStreams.incrementAndGet(), Math::max);
+        return elementsOf(source, count).onClose(() -> {
+            openStreams.decrementAndGet();
+            closedStreams.incrementAndGet();
+        });
+    }
+
+    @NonNull
+    private static Stream<String> elementsOf(int source, int count) {
+        return IntStream.range(0, count).mapToObj(index -> source + ":" + index);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.collectAndClose;
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.createFile;
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.walkFilter;
+import static io.github.lemon_ant.globpathfinder.PathTreeWalker.PATH_RESULT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiPredicate;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParallelTreeWalkerTest {
+
+    private static final BiPredicate<Path, BasicFileAttributes> ACCEPT_ALL = (path, attrs) -> true;
+    private static final TreeWalkFilter<Path> ACCEPT_ALL_FILTER = walkFilter(ACCEPT_ALL, ACCEPT_ALL);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void find_noPruning_returnsSameEntriesAsSequentialWalker() throws IOException {
+        // Given
+        for (int dirIndex = 0; dirIndex < 20; dirIndex++) {
+            for (int fileIndex = 0; fileIndex < 10; fileIndex++) {
+                createFile(tempDir, "d" + dirIndex + "/sub/F" + fileIndex + ".java");
+            }
+        }
+        Files.createDirectories(tempDir.resolve("empty"));
+
+        // When
+        Set<Path> walked = collectAndClose(
+                ParallelTreeWalker.find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL_FILTER, false, 4));
+
+        // Then
+        Set<Path> expected = collectAndClose(
+                PathTreeWalker.find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL_FILTER, false));
+        assertThat(walked).hasSize(expected.size()).isEqualTo(expected);
+    }
+
+    @Test
+    void find_sharedPool_returnsSameEntriesAndLeavesPoolRunning() throws IOException {
+        // Given
+        for (int dirIndex = 0; dirIndex < 20; dirIndex++) {
+            createFile(tempDir, "d" + dirIndex + "/sub/F.java");
+        }
+        ForkJoinPool pool = new ForkJoinPool(1);
+
+        // When
+        Set<Path> walked = collectAndClose(
+                ParallelTreeWalker.find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL_FILTER, false, pool, PATH_RESULT));
+
+        // Then
+        assertThat(walked)
+                .isEqualTo(collectAndClose(PathTreeWalker.find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL_FILTER, false)));
+        assertThat(pool.isShutdown()).isFalse();
+        pool.shutdown();
+    }
+
+    @Test
+    void find_descendFilterRejectsDirectory_reportsDirectoryButSkipsSubtree() throws IOException {
+        // Given
+        createFile(tempDir, "keep/Keep.java");
+        createFile(tempDir, "node_modules/lib/Lib.js");
+        BiPredicate<Path, BasicFileAttributes> descendFilter =
+                (directory, attrs) -> !directory.endsWith("node_modules");
+
+        // When
+        Set<Path> walked = collectAndClose(
+                ParallelTreeWalker.find(tempDir, Integer.MAX_VALUE, walkFilter(ACCEPT_ALL, descendFilter), false, 2));
+
+        // Then
+        assertThat(walked)
+                .contains(tempDir.resolve("node_modules"), tempDir.resolve("keep/Keep.java"))
+                .doesNotContain(tempDir.resolve("node_modules/lib"), tempDir.resolve("node_modules/lib/Lib.js"));
+    }
+
+    @Test
+    void find_maxDepthOne_returnsDirectChildrenOnly() throws IOException {
+        // Given
+        createFile(tempDir, "Top.java");
+        createFile(tempDir, "a/Nested.java");
+
+        // When
+        Set<Path> walked = collectAndClose(ParallelTreeWalker.find(tempDir, 1, ACCEPT_ALL_FILTER, false, 2));
+
+        // Then
+        assertThat(walked).containsExactlyInAnyOrder(tempDir, tempDir.resolve("Top.java"), tempDir.resolve("a"));
+    }
+
+    @Test
+    void find_closedBeforeExhausted_stopsWalk() throws IOException {
+        // Given
+        for (int dirIndex = 0; dirIndex < 50; dirIndex++) {
+            createFile(tempDir, "d" + dirIndex + "/F.java");
+        }
+
+        // When
+        Optional<Path> first;
+        try (Stream<Path> pathStream =
+                ParallelTreeWalker.find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL_FILTER, false, 1)) {
+            first = pathStream.findFirst();
+        }
+
+        // Then
+        assertThat(first).contains(tempDir);
+    }
+
+    @Test
+    void find_cyclicSymlinkFollowed_throwsFileSystemLoopException() throws IOException {
+        // Given
+        Path loopDir = Files.createDirectories(tempDir.resolve("loop"));
+        try {
+            Files.createSymbolicLink(loopDir.resolve("back"), loopDir);
+        } catch (IOException | UnsupportedOperationException e) {
+            assumeTrue(false, "Symlink creation not permitted: " + e.getMessage());
+        }
+
+        // When / Then
+        assertThatThrownBy(() -> collectAndClose(
+                        ParallelTreeWalker.find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL_FILTER, true, 2)))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasCauseInstanceOf(FileSystemLoopException.class);
+    }
+
+    @Test
+    void find_missingStart_throwsNoSuchFileException() {
+        Path missing = tempDir.resolve("missing");
+
+        // When / Then
+        assertThatThrownBy(() -> ParallelTreeWalker.find(missing, Integer.MAX_VALUE, ACCEPT_ALL_FILTER, false, 2))
+                .isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void find_nonPositiveParallelism_throwsIllegalArgumentException() {
+        // When / Then
+        assertThatThrownBy(() -> ParallelTreeWalker.find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL_FILTER, false, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
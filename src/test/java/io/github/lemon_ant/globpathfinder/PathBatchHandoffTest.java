@@ -0,0 +1,75 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class PathBatchHandoffTest {
+
+    @Test
+    void publish_fullQueueOnForkJoinWorker_letsThePoolRunOtherTasks() throws Exception {
+        // Given
+        PathBatchHandoff<String> handoff = new PathBatchHandoff<>(1);
+        handoff.publish(List.of("queued"));
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            CompletableFuture<Boolean> blockedPublish =
+                    CompletableFuture.supplyAsync(() -> handoff.publish(List.of("blocked")), pool);
+
+            // When
+            String otherTask = CompletableFuture.supplyAsync(() -> "ran", pool).get(10, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(otherTask).isEqualTo("ran");
+            assertThat(blockedPublish).isNotDone();
+            List<String> drained = new ArrayList<>();
+            handoff.tryAdvance(drained::add);
+            handoff.tryAdvance(drained::add);
+            assertThat(blockedPublish.get(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(drained).containsExactly("queued", "blocked");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void tryAdvanceUntil_nothingQueuedByDeadline_returnsFalseAndKeepsHandoffOpen() {
+        // Given
+        PathBatchHandoff<String> handoff = new PathBatchHandoff<>(1);
+        List<String> drained = new ArrayList<>();
+
+        // When
+        boolean timedOut = !handoff.tryAdvanceUntil(drained::add, System.nanoTime() + 1_000_000);
+        handoff.publish(List.of("late"));
+        boolean advanced = handoff.tryAdvanceUntil(drained::add, System.nanoTime());
+
+        // Then
+        assertThat(timedOut).isTrue();
+        assertThat(advanced).isTrue();
+        assertThat(drained).containsExactly("late");
+    }
+
+    @Test
+    void publish_cancelledWhileWaiting_returnsFalse() throws Exception {
+        // Given
+        PathBatchHandoff<String> handoff = new PathBatchHandoff<>(1);
+        handoff.publish(List.of("queued"));
+        CompletableFuture<Boolean> blockedPublish = CompletableFuture.supplyAsync(() -> handoff.publish(List.of("x")));
+
+        // When
+        handoff.cancel();
+
+        // Then
+        assertThat(blockedPublish.get(10, TimeUnit.SECONDS)).isFalse();
+    }
+}
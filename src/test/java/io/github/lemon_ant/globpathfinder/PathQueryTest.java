@@ -10,9 +10,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.nio.file.FileVisitOption;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
 
 class PathQueryTest {
@@ -31,6 +34,22 @@ class PathQueryTest {
         assertThat(pathQuery.isOnlyFiles()).isTrue();
         assertThat(pathQuery.isFollowLinks()).isTrue();
         assertThat(pathQuery.isFailFastOnError()).isTrue();
+        assertThat(pathQuery.getTraversalMode()).isEqualTo(TraversalMode.SEQUENTIAL);
+        assertThat(pathQuery.getTraversalParallelism())
+                .isEqualTo(Runtime.getRuntime().availableProcessors());
+        assertThat(pathQuery.getMinSize()).isZero();
+        assertThat(pathQuery.getMaxSize()).isEqualTo(Long.MAX_VALUE);
+        assertThat(pathQuery.getModifiedAfter()).isEqualTo(Instant.MIN);
+        assertThat(pathQuery.getModifiedBefore()).isEqualTo(Instant.MAX);
+        assertThat(pathQuery.getMaxResults()).isEqualTo(Long.MAX_VALUE);
+        assertThat(pathQuery.getBatchSize()).isEqualTo(Runtime.getRuntime().availableProcessors() * 2);
+        assertThat(pathQuery.getMaxBatchSize()).isEqualTo(PathQuery.DEFAULT_MAX_BATCH_SIZE);
+        assertThat(pathQuery.getBatchLatency()).isZero();
+        assertThat(pathQuery.getPrefetchBatches()).isZero();
+        assertThat(pathQuery.getForkJoinPool()).isNull();
+        assertThat(pathQuery.getBaseConcurrency()).isEqualTo(1);
+        assertThat(pathQuery.getCancellationToken()).isNull();
+        assertThat(pathQuery.getTimeout()).isZero();
     }
 
     @Test
@@ -152,6 +171,126 @@ class PathQueryTest {
         assertThat(pathQuery.getMaxDepth()).isEqualTo(Integer.MAX_VALUE);
     }
 
+    @Test
+    void sizeBounds_negativeValues_treatedAsUnbounded() {
+        // When
+        PathQuery pathQuery = PathQuery.builder().minSize(-1L).maxSize(-1L).build();
+
+        // Then
+        assertThat(pathQuery.getMinSize()).isZero();
+        assertThat(pathQuery.getMaxSize()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void maxResults_negativeOrNullValue_treatedAsUnlimited() {
+        // When
+        PathQuery negativeQuery = PathQuery.builder().maxResults(-1L).build();
+        PathQuery nullQuery = PathQuery.builder().maxResults(null).build();
+
+        // Then
+        assertThat(negativeQuery.getMaxResults()).isEqualTo(Long.MAX_VALUE);
+        assertThat(nullQuery.getMaxResults()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void maxResults_zero_keptAsZero() {
+        // When
+        PathQuery pathQuery = PathQuery.builder().maxResults(0L).build();
+
+        // Then
+        assertThat(pathQuery.getMaxResults()).isZero();
+    }
+
+    @Test
+    void traversalParallelism_nonPositiveValue_defaultsToAvailableProcessors() {
+        // When
+        PathQuery pathQuery = PathQuery.builder().traversalParallelism(0).build();
+
+        // Then
+        assertThat(pathQuery.getTraversalParallelism())
+                .isEqualTo(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    void traversalParallelism_omittedWithForkJoinPool_defaultsToPoolParallelism() {
+        // Given
+        ForkJoinPool pool = new ForkJoinPool(3);
+
+        // When
+        PathQuery pathQuery = PathQuery.builder().forkJoinPool(pool).build();
+
+        // Then
+        assertThat(pathQuery.getTraversalParallelism()).isEqualTo(3);
+        pool.shutdown();
+    }
+
+    @Test
+    void traversalParallelism_hugeValue_cappedAtMaximum() {
+        // When
+        PathQuery pathQuery = PathQuery.builder()
+                .traversalParallelism(Integer.MAX_VALUE)
+                .build();
+
+        // Then
+        assertThat(pathQuery.getTraversalParallelism()).isEqualTo(PathQuery.MAX_TRAVERSAL_PARALLELISM);
+    }
+
+    @Test
+    void batchSizes_nonPositiveValues_defaultToGrowingBatches() {
+        // When
+        PathQuery pathQuery = PathQuery.builder().batchSize(0).maxBatchSize(-1).build();
+
+        // Then
+        assertThat(pathQuery.getBatchSize()).isEqualTo(Runtime.getRuntime().availableProcessors() * 2);
+        assertThat(pathQuery.getMaxBatchSize()).isEqualTo(PathQuery.DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    @Test
+    void maxBatchSize_belowBatchSize_raisedToBatchSize() {
+        // When
+        PathQuery pathQuery = PathQuery.builder().batchSize(64).maxBatchSize(8).build();
+
+        // Then
+        assertThat(pathQuery.getBatchSize()).isEqualTo(64);
+        assertThat(pathQuery.getMaxBatchSize()).isEqualTo(64);
+    }
+
+    @Test
+    void batchLatency_negativeValue_disabled() {
+        // When
+        PathQuery pathQuery = PathQuery.builder().batchLatency(Duration.ofMillis(-5)).build();
+
+        // Then
+        assertThat(pathQuery.getBatchLatency()).isZero();
+    }
+
+    @Test
+    void prefetchBatches_negativeValue_disabled() {
+        // When
+        PathQuery pathQuery = PathQuery.builder().prefetchBatches(-3).build();
+
+        // Then
+        assertThat(pathQuery.getPrefetchBatches()).isZero();
+    }
+
+    @Test
+    void baseConcurrency_zero_walksOneBaseAtATime() {
+        // When
+        PathQuery pathQuery = PathQuery.builder().baseConcurrency(0).build();
+
+        // Then
+        assertThat(pathQuery.getBaseConcurrency()).isEqualTo(1);
+    }
+
+    @Test
+    void timeout_negativeValue_disabled() {
+        // When
+        PathQuery pathQuery = PathQuery.builder().timeout(Duration.ofSeconds(-1)).build();
+
+        // Then
+        assertThat(pathQuery.getTimeout()).isZero();
+    }
+
     @Test
     void toBuilder_tweakedField_preservesOtherFields() {
         // Given
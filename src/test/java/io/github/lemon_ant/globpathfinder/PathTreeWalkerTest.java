@@ -0,0 +1,243 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.collectAndClose;
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.createFile;
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.walkFilter;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PathTreeWalkerTest {
+
+    private static final BiPredicate<Path, BasicFileAttributes> ACCEPT_ALL = (path, attrs) -> true;
+    private static final TreeWalkFilter<Path> ACCEPT_ALL_FILTER = walkFilter(ACCEPT_ALL, ACCEPT_ALL);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void find_noPruning_returnsSameEntriesAsFilesFind() throws IOException {
+        // Given
+        createFile(tempDir, "a/A.java");
+        createFile(tempDir, "a/b/B.java");
+        createFile(tempDir, "c/C.txt");
+        Files.createDirectories(tempDir.resolve("empty"));
+
+        // When
+        Set<Path> walked = collectAndClose(
+                PathTreeWalker.find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL_FILTER, false));
+
+        // Then
+        Set<Path> expected = collectAndClose(Files.find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL));
+        assertThat(walked).isEqualTo(expected);
+    }
+
+    @Test
+    void find_startPath_isReportedFirst() throws IOException {
+        // Given
+        createFile(tempDir, "a/A.java");
+
+        // When
+        List<Path> walked;
+        try (Stream<Path> pathStream = PathTreeWalker.find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL_FILTER, false)) {
+            walked = pathStream.collect(Collectors.toUnmodifiableList());
+        }
+
+        // Then
+        assertThat(walked).first().isEqualTo(tempDir);
+    }
+
+    @Test
+    void find_descendFilterRejectsDirectory_reportsDirectoryButSkipsSubtree() throws IOException {
+        // Given
+        createFile(tempDir, "keep/Keep.java");
+        createFile(tempDir, "node_modules/lib/Lib.js");
+        BiPredicate<Path, BasicFileAttributes> descendFilter =
+                (directory, attrs) -> !directory.endsWith("node_modules");
+
+        // When
+        Set<Path> walked = collectAndClose(
+                PathTreeWalker.find(tempDir, Integer.MAX_VALUE, walkFilter(ACCEPT_ALL, descendFilter), false));
+
+        // Then
+        assertThat(walked)
+                .contains(tempDir.resolve("node_modules"), tempDir.resolve("keep/Keep.java"))
+                .doesNotContain(tempDir.resolve("node_modules/lib"), tempDir.resolve("node_modules/lib/Lib.js"));
+    }
+
+    @Test
+    void find_prunedUnreadableDirectory_isNeverOpened() throws IOException {
+        // Only run on POSIX where chmod(000) is available
+        assumeTrue(
+                Files.getFileAttributeView(tempDir, PosixFileAttributeView.class) != null,
+                "POSIX attributes not supported; skipping test.");
+
+        // Given
+        createFile(tempDir, "ok/Ok.java");
+        Path lockedDir = Files.createDirectories(tempDir.resolve("locked"));
+        Files.setPosixFilePermissions(lockedDir, Set.of());
+        BiPredicate<Path, BasicFileAttributes> descendFilter = (directory, attrs) -> !directory.equals(lockedDir);
+
+        // When
+        Set<Path> walked;
+        try {
+            walked = collectAndClose(
+                    PathTreeWalker.find(tempDir, Integer.MAX_VALUE, walkFilter(ACCEPT_ALL, descendFilter), false));
+        } finally {
+            Files.setPosixFilePermissions(
+                    lockedDir,
+                    Set.of(
+                            PosixFilePermission.OWNER_READ,
+                            PosixFilePermission.OWNER_WRITE,
+                            PosixFilePermission.OWNER_EXECUTE));
+        }
+
+        // Then
+        assertThat(walked).contains(tempDir.resolve("ok/Ok.java"), lockedDir);
+    }
+
+    @Test
+    void find_maxDepthOne_returnsDirectChildrenOnly() throws IOException {
+        // Given
+        createFile(tempDir, "Top.java");
+        createFile(tempDir, "a/Nested.java");
+
+        // When
+        Set<Path> walked = collectAndClose(PathTreeWalker.find(tempDir, 1, ACCEPT_ALL_FILTER, false));
+
+        // Then
+        assertThat(walked).containsExactlyInAnyOrder(tempDir, tempDir.resolve("Top.java"), tempDir.resolve("a"));
+    }
+
+    @Test
+    void find_cyclicSymlinkFollowed_throwsFileSystemLoopException() throws IOException {
+        // Given
+        Path loopDir = Files.createDirectories(tempDir.resolve("loop"));
+        try {
+            Files.createSymbolicLink(loopDir.resolve("back"), loopDir);
+        } catch (IOException | UnsupportedOperationException e) {
+            assumeTrue(false, "Symlink creation not permitted: " + e.getMessage());
+        }
+
+        // When / Then
+        assertThatThrownBy(() -> collectAndClose(
+                        PathTreeWalker.find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL_FILTER, true)))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasCauseInstanceOf(FileSystemLoopException.class);
+    }
+
+    @Test
+    void find_treeWalkFilter_derivesChildStateFromDirectoryState() throws IOException {
+        // Given: the state of an entry is its depth, counted by the walk from the start state
+        createFile(tempDir, "a/b/c/Deep.java");
+        createFile(tempDir, "a/Top.java");
+        TreeWalkFilter<Integer> depthFilter = new TreeWalkFilter<>() {
+            @Override
+            public Integer startState(Path start) {
+                return 0;
+            }
+
+            @Override
+            public Integer childState(Integer directoryState, Path child) {
+                return directoryState + 1;
+            }
+
+            @Override
+            public boolean isMatched(Integer state, Path path, BasicFileAttributes attributes) {
+                return state == path.getNameCount() - tempDir.getNameCount();
+            }
+
+            @Override
+            public boolean isDescended(Integer state, Path directory, BasicFileAttributes attributes) {
+                return state < 3;
+            }
+        };
+
+        // When
+        Set<Path> walked = collectAndClose(PathTreeWalker.find(tempDir, Integer.MAX_VALUE, depthFilter, false));
+
+        // Then
+        assertThat(walked)
+                .containsExactlyInAnyOrder(
+                        tempDir,
+                        tempDir.resolve("a"),
+                        tempDir.resolve("a/Top.java"),
+                        tempDir.resolve("a/b"),
+                        tempDir.resolve("a/b/c"));
+    }
+
+    @Test
+    void find_candidateNames_visitsOnlyExistingNamedEntries() throws IOException {
+        // Given: every directory names "a" and "Keep.java" as its only candidates, one of which is missing
+        createFile(tempDir, "a/Keep.java");
+        createFile(tempDir, "a/Skip.java");
+        createFile(tempDir, "Keep.java");
+        createFile(tempDir, "b/Keep.java");
+        TreeWalkFilter<Path> namedFilter = new TreeWalkFilter<>() {
+            @Override
+            public Path startState(Path start) {
+                return start;
+            }
+
+            @Override
+            public Path childState(Path directoryState, Path child) {
+                return child;
+            }
+
+            @Override
+            public boolean isMatched(Path state, Path path, BasicFileAttributes attributes) {
+                return true;
+            }
+
+            @Override
+            public boolean isDescended(Path state, Path directory, BasicFileAttributes attributes) {
+                return true;
+            }
+
+            @Override
+            public Collection<String> findCandidateNames(Path state, Path directory) {
+                return List.of("a", "Keep.java");
+            }
+        };
+
+        // When
+        Set<Path> walked = collectAndClose(PathTreeWalker.find(tempDir, Integer.MAX_VALUE, namedFilter, false));
+
+        // Then
+        assertThat(walked)
+                .containsExactlyInAnyOrder(
+                        tempDir, tempDir.resolve("Keep.java"), tempDir.resolve("a"), tempDir.resolve("a/Keep.java"));
+    }
+
+    @Test
+    void find_missingStart_throwsNoSuchFileException() {
+        Path missing = tempDir.resolve("missing");
+
+        // When / Then
+        assertThatThrownBy(() -> PathTreeWalker.find(missing, Integer.MAX_VALUE, ACCEPT_ALL_FILTER, false))
+                .isInstanceOf(NoSuchFileException.class);
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+class PatternSetHelper {
+
+    @NonNull
+    static AntStylePatternSet compilePatterns(@NonNull String... patterns) {
+        List<PathMatcher> matchers = new ArrayList<>();
+        for (String pattern : patterns) {
+            matchers.add(AntStylePathMatcher.compile(pattern));
+        }
+        return AntStylePatternSet.of(matchers);
+    }
+
+    static long @NonNull [] statesOf(@NonNull AntStylePatternSet patternSet, @NonNull String path) {
+        return patternSet.advance(patternSet.initialStates(), path, 0);
+    }
+
+    static boolean accepts(@NonNull AntStylePatternSet patternSet, @NonNull String path) {
+        return patternSet.accepts(statesOf(patternSet, path));
+    }
+}
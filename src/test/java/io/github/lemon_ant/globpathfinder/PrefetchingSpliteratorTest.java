@@ -0,0 +1,167 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+
+class PrefetchingSpliteratorTest {
+
+    private final AtomicInteger closeCount = new AtomicInteger();
+
+    @Test
+    void constructor_nonPositiveBatchSize_throwsIllegalArgumentException() {
+        // When / Then
+        assertThatThrownBy(() -> new PrefetchingSpliterator<>(List.of("a").spliterator(), () -> {}, 0, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("batchSize must be positive");
+    }
+
+    @Test
+    void forEachRemaining_manyElements_deliversAllInOrderAndClosesSourceOnce() {
+        // Given
+        List<Integer> elements = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        PrefetchingSpliterator<Integer> spliterator = prefetch(elements.spliterator());
+        List<Integer> delivered = new ArrayList<>();
+
+        // When
+        spliterator.forEachRemaining(delivered::add);
+        spliterator.close();
+
+        // Then
+        assertThat(delivered).isEqualTo(elements);
+        assertThat(closeCount).hasValue(1);
+    }
+
+    @Test
+    void tryAdvance_sourceFails_rethrowsAfterEarlierElements() {
+        // Given
+        Spliterator<String> failing = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, 0) {
+            private int pulled;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action) {
+                if (pulled++ == 2) {
+                    throw new IllegalStateException("source failed");
+                }
+                action.accept("element" + pulled);
+                return true;
+            }
+        };
+        PrefetchingSpliterator<String> spliterator = prefetch(failing);
+        List<String> delivered = new ArrayList<>();
+
+        // When / Then
+        assertThatThrownBy(() -> spliterator.forEachRemaining(delivered::add))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("source failed");
+        assertThat(delivered).containsExactly("element1", "element2");
+        assertThat(closeCount).hasValue(1);
+    }
+
+    @Test
+    void tryAdvanceUntil_sourceBlocked_returnsFalseAtDeadline() {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        PrefetchingSpliterator<String> spliterator = prefetch(blockingAfter(List.of("first"), release));
+        List<String> delivered = new ArrayList<>();
+        spliterator.tryAdvance(delivered::add);
+
+        // When
+        boolean advanced = spliterator.tryAdvanceUntil(delivered::add, System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(20));
+
+        // Then
+        assertThat(advanced).isFalse();
+        assertThat(delivered).containsExactly("first");
+        release.countDown();
+        spliterator.close();
+        assertThat(closeCount).hasValue(1);
+    }
+
+    @Test
+    void close_beforeFirstPull_closesSourceWithoutPulling() {
+        // Given
+        AtomicInteger pulled = new AtomicInteger();
+        PrefetchingSpliterator<String> spliterator = prefetch(new Spliterators.AbstractSpliterator<>(1, 0) {
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action) {
+                pulled.incrementAndGet();
+                return false;
+            }
+        });
+
+        // When
+        spliterator.close();
+
+        // Then
+        assertThat(pulled).hasValue(0);
+        assertThat(closeCount).hasValue(1);
+        assertThat(spliterator.tryAdvance(element -> {})).isFalse();
+    }
+
+    @Test
+    void close_midStream_stopsProducerAndClosesSource() {
+        // Given
+        Spliterator<Integer> endless = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, 0) {
+            private int next;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Integer> action) {
+                action.accept(next++);
+                return true;
+            }
+        };
+        PrefetchingSpliterator<Integer> spliterator = prefetch(endless);
+        spliterator.tryAdvance(element -> {});
+
+        // When
+        spliterator.close();
+
+        // Then
+        assertThat(closeCount).hasValue(1);
+        assertThat(spliterator.tryAdvance(element -> {})).isFalse();
+    }
+
+    @NonNull
+    private <T> PrefetchingSpliterator<T> prefetch(Spliterator<T> source) {
+        return new PrefetchingSpliterator<>(source, closeCount::incrementAndGet, 4, 2);
+    }
+
+    @NonNull
+    private static Spliterator<String> blockingAfter(List<String> elements, CountDownLatch release) {
+        return new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, 0) {
+            private int pulled;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action) {
+                if (pulled < elements.size()) {
+                    action.accept(elements.get(pulled++));
+                    return true;
+                }
+                try {
+                    release.await();
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        };
+    }
+}
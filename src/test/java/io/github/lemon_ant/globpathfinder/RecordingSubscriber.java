@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import lombok.Getter;
+import lombok.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Subscriber that records every signal it receives and requests only when a test asks it to.
+ */
+@Getter
+class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+
+    private final List<T> received = new ArrayList<>();
+    private boolean completed;
+
+    @Nullable
+    private Throwable failure;
+
+    @Nullable
+    private Flow.Subscription subscription;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(T element) {
+        received.add(element);
+    }
+
+    @Override
+    public void onError(Throwable failure) {
+        this.failure = failure;
+    }
+
+    @Override
+    public void onComplete() {
+        completed = true;
+    }
+
+    void request(long count) {
+        requireSubscription().request(count);
+    }
+
+    void cancel() {
+        requireSubscription().cancel();
+    }
+
+    @NonNull
+    private Flow.Subscription requireSubscription() {
+        Flow.Subscription current = subscription;
+        if (current == null) {
+            throw new IllegalStateException("Not subscribed");
+        }
+        return current;
+    }
+}
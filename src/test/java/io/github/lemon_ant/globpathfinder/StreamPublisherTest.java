@@ -0,0 +1,170 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+
+class StreamPublisherTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger pulled = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    @Test
+    void subscribe_noRequest_opensNoStream() {
+        // Given
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+
+        // When
+        publisher(List.of("a", "b"), DIRECT).subscribe(subscriber);
+
+        // Then
+        assertThat(subscriber.getSubscription()).isNotNull();
+        assertThat(opened).hasValue(0);
+    }
+
+    @Test
+    void request_fewerThanAvailable_pullsOnlyRequestedElements() {
+        // Given
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        publisher(List.of("a", "b", "c", "d"), DIRECT).subscribe(subscriber);
+
+        // When
+        subscriber.request(2);
+
+        // Then
+        assertThat(subscriber.getReceived()).containsExactly("a", "b");
+        assertThat(pulled).hasValue(2);
+        assertThat(subscriber.isCompleted()).isFalse();
+        assertThat(closed).hasValue(0);
+    }
+
+    @Test
+    void request_moreThanAvailable_completesAndClosesStream() {
+        // Given
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        publisher(List.of("a", "b"), DIRECT).subscribe(subscriber);
+
+        // When
+        subscriber.request(Long.MAX_VALUE);
+
+        // Then
+        assertThat(subscriber.getReceived()).containsExactly("a", "b");
+        assertThat(subscriber.isCompleted()).isTrue();
+        assertThat(closed).hasValue(1);
+    }
+
+    @Test
+    void request_fromOnNext_deliversInOrderWithoutRecursion() {
+        // Given
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>() {
+            @Override
+            public void onNext(String element) {
+                super.onNext(element);
+                request(1);
+            }
+        };
+        publisher(List.of("a", "b", "c"), DIRECT).subscribe(subscriber);
+
+        // When
+        subscriber.request(1);
+
+        // Then
+        assertThat(subscriber.getReceived()).containsExactly("a", "b", "c");
+        assertThat(subscriber.isCompleted()).isTrue();
+    }
+
+    @Test
+    void cancel_afterPartialRequest_closesStreamAndStopsSignals() {
+        // Given
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        publisher(List.of("a", "b", "c"), DIRECT).subscribe(subscriber);
+        subscriber.request(1);
+
+        // When
+        subscriber.cancel();
+        subscriber.request(5);
+
+        // Then
+        assertThat(subscriber.getReceived()).containsExactly("a");
+        assertThat(closed).hasValue(1);
+        assertThat(subscriber.isCompleted()).isFalse();
+        assertThat(subscriber.getFailure()).isNull();
+    }
+
+    @Test
+    void request_nonPositiveCount_signalsIllegalArgumentException() {
+        // Given
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        publisher(List.of("a", "b"), DIRECT).subscribe(subscriber);
+        subscriber.request(1);
+
+        // When
+        subscriber.request(0);
+
+        // Then
+        assertThat(subscriber.getFailure()).isInstanceOf(IllegalArgumentException.class);
+        assertThat(closed).hasValue(1);
+    }
+
+    @Test
+    void request_streamFails_signalsFailureAfterEarlierElements() {
+        // Given
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        new StreamPublisher<>(
+                        () -> Stream.of("a", "fail").peek(element -> {
+                            if ("fail".equals(element)) {
+                                throw new IllegalStateException("stream failed");
+                            }
+                        }),
+                        DIRECT)
+                .subscribe(subscriber);
+
+        // When
+        subscriber.request(Long.MAX_VALUE);
+
+        // Then
+        assertThat(subscriber.getReceived()).containsExactly("a");
+        assertThat(subscriber.getFailure()).isInstanceOf(IllegalStateException.class).hasMessage("stream failed");
+    }
+
+    @Test
+    void request_executorRejects_signalsRejection() {
+        // Given
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        publisher(List.of("a"), task -> {
+                    throw new RejectedExecutionException("shut down");
+                })
+                .subscribe(subscriber);
+
+        // When
+        subscriber.request(1);
+
+        // Then
+        assertThat(subscriber.getFailure()).isInstanceOf(RejectedExecutionException.class);
+        assertThat(opened).hasValue(0);
+    }
+
+    @NonNull
+    private StreamPublisher<String> publisher(List<String> elements, Executor executor) {
+        return new StreamPublisher<>(
+                () -> {
+                    opened.incrementAndGet();
+                    return elements.stream().peek(element -> pulled.incrementAndGet()).onClose(closed::incrementAndGet);
+                },
+                executor);
+    }
+}
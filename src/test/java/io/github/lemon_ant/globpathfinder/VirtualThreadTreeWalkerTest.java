@@ -0,0 +1,54 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.collectAndClose;
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.createFile;
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.walkFilter;
+import static io.github.lemon_ant.globpathfinder.PathTreeWalker.PATH_RESULT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests run against {@code target/classes}, where the JVM never consults {@code META-INF/versions}, so these tests
+ * always see the Java 11 placeholder; {@code VirtualThreadTreeWalkerJava21Test} exercises the Java 21 engine.
+ */
+class VirtualThreadTreeWalkerTest {
+
+    private static final TreeWalkFilter<Path> ACCEPT_ALL_FILTER =
+            walkFilter((path, attrs) -> true, (path, attrs) -> true);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void isAvailable_baseLayer_returnsFalse() {
+        // When / Then
+        assertThat(VirtualThreadTreeWalker.isAvailable()).isFalse();
+    }
+
+    @Test
+    void find_baseLayer_returnsSameEntriesAsFilesFind() throws IOException {
+        // Given
+        createFile(tempDir, "a/A.java");
+        createFile(tempDir, "a/b/B.java");
+        createFile(tempDir, "c/C.txt");
+
+        // When
+        Set<Path> walked = collectAndClose(
+                VirtualThreadTreeWalker.find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL_FILTER, false, 2, PATH_RESULT));
+
+        // Then
+        Set<Path> expected = collectAndClose(Files.find(tempDir, Integer.MAX_VALUE, (path, attrs) -> true));
+        assertThat(walked).isEqualTo(expected);
+    }
+}
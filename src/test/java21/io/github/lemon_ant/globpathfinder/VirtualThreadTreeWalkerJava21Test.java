@@ -0,0 +1,191 @@
+/*
+ * SPDX-FileCopyrightText: 2026 Anton Lem <antonlem78@gmail.com>
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.github.lemon_ant.globpathfinder;
+
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.collectAndClose;
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.createFile;
+import static io.github.lemon_ant.globpathfinder.FileTreeHelper.walkFilter;
+import static io.github.lemon_ant.globpathfinder.PathTreeWalker.PATH_RESULT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Runs against the Java 21 layer ({@code META-INF/versions/21} ahead of the Java 11 classes), so these tests
+ * exercise the virtual-thread engine itself; see the {@code java21-layer} Maven profile.
+ */
+class VirtualThreadTreeWalkerJava21Test {
+
+    private static final BiPredicate<Path, BasicFileAttributes> ACCEPT_ALL = (path, attrs) -> true;
+    private static final TreeWalkFilter<Path> ACCEPT_ALL_FILTER = walkFilter(ACCEPT_ALL, ACCEPT_ALL);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void isAvailable_java21Layer_returnsTrue() {
+        // When / Then
+        assertThat(VirtualThreadTreeWalker.isAvailable()).isTrue();
+    }
+
+    @Test
+    void find_noPruning_returnsSameEntriesAsSequentialWalker() throws IOException {
+        // Given
+        for (int dirIndex = 0; dirIndex < 20; dirIndex++) {
+            for (int fileIndex = 0; fileIndex < 10; fileIndex++) {
+                createFile(tempDir, "d" + dirIndex + "/sub/F" + fileIndex + ".java");
+            }
+        }
+        Files.createDirectories(tempDir.resolve("empty"));
+
+        // When
+        Set<Path> walked = collectAndClose(find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL, ACCEPT_ALL, false, 4));
+
+        // Then
+        Set<Path> expected = collectAndClose(PathTreeWalker.find(
+                tempDir, Integer.MAX_VALUE, ACCEPT_ALL_FILTER, false));
+        assertThat(walked).hasSize(expected.size()).isEqualTo(expected);
+    }
+
+    @Test
+    void find_wideTreeOnOneThread_listsEveryDirectory() throws IOException {
+        // Given
+        for (int dirIndex = 0; dirIndex < 200; dirIndex++) {
+            createFile(tempDir, "d" + dirIndex + "/sub/F.java");
+        }
+
+        // When
+        Set<Path> walked = collectAndClose(find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL, ACCEPT_ALL, false, 1));
+
+        // Then
+        assertThat(walked).hasSize(1 + 200 * 3).contains(tempDir.resolve("d199/sub/F.java"));
+    }
+
+    @Test
+    void find_descendFilterRejectsDirectory_reportsDirectoryButSkipsSubtree() throws IOException {
+        // Given
+        createFile(tempDir, "keep/Keep.java");
+        createFile(tempDir, "node_modules/lib/Lib.js");
+        BiPredicate<Path, BasicFileAttributes> descendFilter =
+                (directory, attrs) -> !directory.endsWith("node_modules");
+
+        // When
+        Set<Path> walked = collectAndClose(find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL, descendFilter, false, 2));
+
+        // Then
+        assertThat(walked)
+                .contains(tempDir.resolve("node_modules"), tempDir.resolve("keep/Keep.java"))
+                .doesNotContain(tempDir.resolve("node_modules/lib"), tempDir.resolve("node_modules/lib/Lib.js"));
+    }
+
+    @Test
+    void find_maxDepthOne_returnsDirectChildrenOnly() throws IOException {
+        // Given
+        createFile(tempDir, "Top.java");
+        createFile(tempDir, "a/Nested.java");
+
+        // When
+        Set<Path> walked = collectAndClose(find(tempDir, 1, ACCEPT_ALL, ACCEPT_ALL, false, 2));
+
+        // Then
+        assertThat(walked).containsExactlyInAnyOrder(tempDir, tempDir.resolve("Top.java"), tempDir.resolve("a"));
+    }
+
+    @Test
+    void find_closedBeforeExhausted_stopsWalk() throws IOException {
+        // Given
+        for (int dirIndex = 0; dirIndex < 50; dirIndex++) {
+            createFile(tempDir, "d" + dirIndex + "/F.java");
+        }
+
+        // When
+        Optional<Path> first;
+        try (Stream<Path> pathStream = find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL, ACCEPT_ALL, false, 1)) {
+            first = pathStream.findFirst();
+        }
+
+        // Then
+        assertThat(first).contains(tempDir);
+    }
+
+    @Test
+    void find_cyclicSymlinkFollowed_throwsFileSystemLoopException() throws IOException {
+        // Given
+        Path loopDir = Files.createDirectories(tempDir.resolve("loop"));
+        try {
+            Files.createSymbolicLink(loopDir.resolve("back"), loopDir);
+        } catch (IOException | UnsupportedOperationException e) {
+            assumeTrue(false, "Symlink creation not permitted: " + e.getMessage());
+        }
+
+        // When / Then
+        assertThatThrownBy(() -> collectAndClose(find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL, ACCEPT_ALL, true, 2)))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasCauseInstanceOf(FileSystemLoopException.class);
+    }
+
+    @Test
+    void find_matcherThrows_rethrowsFailureToConsumer() throws IOException {
+        // Given
+        createFile(tempDir, "a/Bad.java");
+        BiPredicate<Path, BasicFileAttributes> matcher = (path, attrs) -> {
+            if (path.endsWith("Bad.java")) {
+                throw new IllegalStateException("matcher failed");
+            }
+            return true;
+        };
+
+        // When / Then
+        assertThatThrownBy(() -> collectAndClose(find(tempDir, Integer.MAX_VALUE, matcher, ACCEPT_ALL, false, 2)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("matcher failed");
+    }
+
+    @Test
+    void find_missingStart_throwsNoSuchFileException() {
+        // Given
+        Path missing = tempDir.resolve("missing");
+
+        // When / Then
+        assertThatThrownBy(() -> find(missing, Integer.MAX_VALUE, ACCEPT_ALL, ACCEPT_ALL, false, 2))
+                .isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void find_nonPositiveParallelism_throwsIllegalArgumentException() {
+        // When / Then
+        assertThatThrownBy(() -> find(tempDir, Integer.MAX_VALUE, ACCEPT_ALL, ACCEPT_ALL, false, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @NonNull
+    private static Stream<Path> find(
+            Path start,
+            int maxDepth,
+            BiPredicate<Path, BasicFileAttributes> matcher,
+            BiPredicate<Path, BasicFileAttributes> descendFilter,
+            boolean followLinks,
+            int parallelism)
+            throws IOException {
+        return VirtualThreadTreeWalker.find(
+                start, maxDepth, walkFilter(matcher, descendFilter), followLinks, parallelism, PATH_RESULT);
+    }
+}